@@ -1,14 +1,28 @@
 package com.queue.management.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 public class AsyncConfig {
 
+    // Hashing threads for logins (0 = half the CPU cores)
+    @Value("${app.auth.login-threads:0}")
+    private int loginThreads;
+
+    // Logins allowed to wait for a thread before new ones are rejected
+    @Value("${app.auth.login-queue-capacity:200}")
+    private int loginQueueCapacity;
+
     /**
      * Named "taskExecutor" so Spring's @Async picks this executor over
      * the multiple WebSocket-managed executors, eliminating the ambiguity warning.
@@ -23,4 +37,38 @@ public class AsyncConfig {
         executor.initialize();
         return executor;
     }
+
+    /**
+     * Bounded pool for password hashing at login, so a burst of logins
+     * (BCrypt is deliberately slow) cannot occupy the request threads
+     * that serve queue endpoints. Full pool and queue → TaskRejectedException.
+     */
+    @Bean(name = "loginExecutor")
+    public ThreadPoolTaskExecutor loginExecutor(MeterRegistry meterRegistry) {
+        Timer queueWait = Timer.builder("auth.login.queue.wait")
+                .description("Time a login spends waiting for a hashing thread")
+                .register(meterRegistry);
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        int threads = loginThreads > 0
+                ? loginThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(loginQueueCapacity);
+        executor.setThreadNamePrefix("login-");
+        executor.setTaskDecorator(task -> {
+            long submittedAt = System.nanoTime();
+            return () -> {
+                queueWait.record(System.nanoTime() - submittedAt, TimeUnit.NANOSECONDS);
+                task.run();
+            };
+        });
+        executor.initialize();
+
+        // Pool size, active threads, queued and completed tasks
+        new ExecutorServiceMetrics(executor.getThreadPoolExecutor(), "login", Tags.empty())
+                .bindTo(meterRegistry);
+        return executor;
+    }
 }
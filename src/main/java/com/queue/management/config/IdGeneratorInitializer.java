@@ -0,0 +1,46 @@
+package com.queue.management.config;
+
+import com.queue.management.entity.Token;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Makes sure the table-backed token ID generator starts above every existing id.
+ *
+ * Tokens used AUTO_INCREMENT before, so on an existing database the generator row
+ * is missing or too low. The pooled optimizer hands out the block ending at the
+ * stored value, hence the extra allocation size of headroom. Archived tokens keep
+ * their ids, so both tables count. Idempotent: the value only ever moves up.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class IdGeneratorInitializer {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Depend on the JPA setup so ddl-auto has created id_generators and tokens_archive first
+    private final EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    void seedTokenIds() {
+        jdbcTemplate.execute(
+            "CREATE TABLE IF NOT EXISTS id_generators (" +
+            "generator_name VARCHAR(255) NOT NULL PRIMARY KEY, " +
+            "next_value BIGINT)");
+
+        int updated = jdbcTemplate.update(
+            "INSERT INTO id_generators (generator_name, next_value) " +
+            "SELECT 'tokens', GREATEST(" +
+            "(SELECT COALESCE(MAX(id), 0) FROM tokens), " +
+            "(SELECT COALESCE(MAX(id), 0) FROM tokens_archive)) + ? + 1 FROM DUAL " +
+            "ON DUPLICATE KEY UPDATE next_value = GREATEST(next_value, VALUES(next_value))",
+            Token.ID_ALLOCATION_SIZE);
+
+        log.info("Token id generator checked ({} row(s) changed)", updated);
+    }
+}
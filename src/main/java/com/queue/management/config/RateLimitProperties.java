@@ -0,0 +1,47 @@
+package com.queue.management.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Rate limit rules, bound from app.rate-limit.* in application.properties
+@Component
+@ConfigurationProperties(prefix = "app.rate-limit")
+@Data
+public class RateLimitProperties {
+
+    // Master switch
+    private boolean enabled = true;
+
+    // Most buckets (principal/IP + rule) kept in memory at once
+    private int maxBuckets = 50_000;
+
+    // Buckets untouched for this long are dropped
+    private int idleSeconds = 300;
+
+    // Checked in order; the first rule matching the request applies
+    private List<Rule> rules = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+
+        // Ant-style path pattern, e.g. /api/student/tokens/position
+        private String pattern;
+
+        // HTTP method to match (empty = any)
+        private String method;
+
+        // PRINCIPAL = per logged-in user (IP when anonymous), IP = per client address
+        // (the forwarded one behind a proxy, see server.forward-headers-strategy)
+        private String key = "PRINCIPAL";
+
+        // Requests allowed in a burst
+        private int capacity = 10;
+
+        // Sustained requests per second
+        private double refillPerSecond = 1.0;
+    }
+}
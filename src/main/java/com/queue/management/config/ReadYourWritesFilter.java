@@ -0,0 +1,75 @@
+package com.queue.management.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers who just changed something, so their next reads skip the replica.
+ *
+ * Runs after the security chain. A successful POST/PUT/PATCH/DELETE by an
+ * authenticated user pins that user's read-only transactions to the primary
+ * for app.datasource.replica.read-your-writes-seconds, or for the current
+ * replication delay if that is longer.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    @Value("${app.datasource.replica.read-your-writes-seconds:10}")
+    private long readYourWritesSeconds;
+
+    // username → time of their last successful write request
+    private final Map<String, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReadYourWritesFilter(ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+
+        if (isWrite(request.getMethod()) && response.getStatus() < 400) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.isAuthenticated()) {
+                lastWrites.put(authentication.getName(), System.currentTimeMillis());
+            }
+        }
+    }
+
+    public boolean wroteRecently(String username) {
+        Long lastWrite = lastWrites.get(username);
+        return lastWrite != null && System.currentTimeMillis() - lastWrite < windowMillis();
+    }
+
+    // Forget writes older than the window
+    @Scheduled(fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
+    public void evictExpired() {
+        long cutoff = System.currentTimeMillis() - windowMillis();
+        lastWrites.values().removeIf(lastWrite -> lastWrite < cutoff);
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private long windowMillis() {
+        long lagSeconds = Math.max(lagMonitor.getLagSeconds(), 0) + 1;
+        return Math.max(readYourWritesSeconds, lagSeconds) * 1000;
+    }
+
+    private static boolean isWrite(String method) {
+        return !"GET".equals(method) && !"HEAD".equals(method) && !"OPTIONS".equals(method);
+    }
+}
@@ -0,0 +1,111 @@
+package com.queue.management.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Primary + read replica, only when app.datasource.replica.enabled=true.
+ *
+ * Replaces the auto-configured DataSource with a routing one: read-only
+ * transactions go to the replica unless it is lagging or the current user
+ * changed something moments ago; everything else goes to the primary.
+ *
+ * The lazy proxy matters: Spring asks for a connection when the transaction
+ * begins, before it is marked read-only, so the real connection is only picked
+ * at the first statement.
+ */
+@Configuration
+@ConditionalOnProperty(name = "app.datasource.replica.enabled", havingValue = "true")
+public class ReplicaDataSourceConfig {
+
+    @Value("${spring.datasource.url}")
+    private String primaryUrl;
+
+    @Value("${spring.datasource.username}")
+    private String primaryUsername;
+
+    @Value("${spring.datasource.password}")
+    private String primaryPassword;
+
+    @Value("${spring.datasource.driver-class-name:com.mysql.cj.jdbc.Driver}")
+    private String driverClassName;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int primaryPoolSize;
+
+    @Value("${spring.datasource.hikari.data-source-properties.rewriteBatchedStatements:true}")
+    private String rewriteBatchedStatements;
+
+    @Value("${app.datasource.replica.url}")
+    private String replicaUrl;
+
+    @Value("${app.datasource.replica.username}")
+    private String replicaUsername;
+
+    @Value("${app.datasource.replica.password}")
+    private String replicaPassword;
+
+    @Value("${app.datasource.replica.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Bean
+    public HikariDataSource primaryDataSource() {
+        HikariDataSource dataSource = pool("primary", primaryUrl, primaryUsername, primaryPassword, primaryPoolSize);
+        dataSource.addDataSourceProperty("rewriteBatchedStatements", rewriteBatchedStatements);
+        return dataSource;
+    }
+
+    @Bean
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = pool("replica", replicaUrl, replicaUsername, replicaPassword, replicaPoolSize);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replicaDataSource(), meterRegistry);
+    }
+
+    @Bean
+    public ReadYourWritesFilter readYourWritesFilter(ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadYourWritesFilter(replicaLagMonitor);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReplicaLagMonitor replicaLagMonitor,
+                                 ReadYourWritesFilter readYourWritesFilter,
+                                 MeterRegistry meterRegistry) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+                replicaLagMonitor, readYourWritesFilter, meterRegistry);
+        routing.setTargetDataSources(Map.of(
+                ReplicaRoutingDataSource.PRIMARY, primaryDataSource(),
+                ReplicaRoutingDataSource.REPLICA, replicaDataSource()));
+        routing.setDefaultTargetDataSource(primaryDataSource());
+        routing.afterPropertiesSet();
+
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private HikariDataSource pool(String name, String url, String username, String password, int size) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName(driverClassName);
+        dataSource.setMaximumPoolSize(size);
+        return dataSource;
+    }
+}
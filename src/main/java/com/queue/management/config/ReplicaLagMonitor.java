@@ -0,0 +1,85 @@
+package com.queue.management.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polls the replica's replication delay and decides whether reads may use it.
+ *
+ * The replica is used only while SHOW REPLICA STATUS reports a delay of at most
+ * app.datasource.replica.max-lag-seconds. A stopped replication thread (NULL
+ * delay), a failed check or a missing status row all send reads back to the
+ * primary. Two independent local databases have no replication status, so set
+ * app.datasource.replica.check-replication=false to test routing with them.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private final DataSource replica;
+
+    @Value("${app.datasource.replica.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${app.datasource.replica.check-replication:true}")
+    private boolean checkReplication;
+
+    // Latest measured delay (-1 = unknown)
+    private volatile long lagSeconds = -1;
+    private volatile boolean usable;
+
+    public ReplicaLagMonitor(DataSource replica, MeterRegistry meterRegistry) {
+        this.replica = replica;
+        Gauge.builder("db.replica.lag.seconds", this, ReplicaLagMonitor::getLagSeconds)
+                .description("Replication delay of the read replica (-1 = unknown)")
+                .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-seconds:5}", timeUnit = TimeUnit.SECONDS)
+    public void check() {
+        boolean wasUsable = usable;
+
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+
+            if (!checkReplication) {
+                statement.execute("SELECT 1");
+                lagSeconds = 0;
+            } else {
+                try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                    long lag = -1;
+                    if (status.next()) {
+                        long seconds = status.getLong("Seconds_Behind_Source");
+                        if (!status.wasNull()) lag = seconds;
+                    }
+                    lagSeconds = lag;
+                }
+            }
+            usable = lagSeconds >= 0 && lagSeconds <= maxLagSeconds;
+
+        } catch (Exception e) {
+            lagSeconds = -1;
+            usable = false;
+            if (wasUsable) log.warn("Replica check failed, reading from primary: {}", e.getMessage());
+        }
+
+        if (wasUsable != usable) {
+            log.info("Read replica {} (lag {} s)", usable ? "in use" : "bypassed", lagSeconds);
+        }
+    }
+}
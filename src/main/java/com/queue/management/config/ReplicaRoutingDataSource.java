@@ -0,0 +1,58 @@
+package com.queue.management.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// Picks primary or replica for each new physical connection (see ReplicaDataSourceConfig)
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ReadYourWritesFilter readYourWrites;
+
+    private final Counter primaryConnections;
+    private final Counter replicaConnections;
+
+    public ReplicaRoutingDataSource(ReplicaLagMonitor lagMonitor,
+                                    ReadYourWritesFilter readYourWrites,
+                                    MeterRegistry meterRegistry) {
+        this.lagMonitor = lagMonitor;
+        this.readYourWrites = readYourWrites;
+        this.primaryConnections = Counter.builder("db.routing.connections")
+                .tag("target", PRIMARY)
+                .description("Connections routed to the primary database")
+                .register(meterRegistry);
+        this.replicaConnections = Counter.builder("db.routing.connections")
+                .tag("target", REPLICA)
+                .description("Connections routed to the read replica")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (useReplica()) {
+            replicaConnections.increment();
+            return REPLICA;
+        }
+        primaryConnections.increment();
+        return PRIMARY;
+    }
+
+    private boolean useReplica() {
+        // Writes, and reads outside a read-only transaction, always hit the primary
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) return false;
+
+        // Replica behind or unreachable
+        if (!lagMonitor.isReplicaUsable()) return false;
+
+        // The user changed something moments ago; the replica may not have it yet
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !readYourWrites.wroteRecently(authentication.getName());
+    }
+}
@@ -1,6 +1,9 @@
 package com.queue.management.config;
 
+import com.queue.management.security.StompAuthChannelInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
 import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
@@ -8,8 +11,11 @@ import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerCo
 
 @Configuration
 @EnableWebSocketMessageBroker
+@RequiredArgsConstructor
 public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
+    private final StompAuthChannelInterceptor stompAuthChannelInterceptor;
+
     @Override
     public void registerStompEndpoints(StompEndpointRegistry registry) {
         // Clients connect here; SockJS provides fallback for browsers without native WebSocket
@@ -20,9 +26,17 @@ public class WebSocketConfig implements WebSocketMessageBrokerConfigurer {
 
     @Override
     public void configureMessageBroker(MessageBrokerRegistry registry) {
-        // In-memory broker serves /topic/** destinations
-        registry.enableSimpleBroker("/topic");
+        // In-memory broker: /topic/** for counter broadcasts, /queue/** for per-user queues
+        registry.enableSimpleBroker("/topic", "/queue");
         // Client-to-server messages are prefixed with /app
         registry.setApplicationDestinationPrefixes("/app");
+        // /user/queue/notifications resolves to the sessions of the authenticated user
+        registry.setUserDestinationPrefix("/user");
+    }
+
+    @Override
+    public void configureClientInboundChannel(ChannelRegistration registration) {
+        // Authenticate CONNECT frames and guard subscriptions
+        registration.interceptors(stompAuthChannelInterceptor);
     }
 }
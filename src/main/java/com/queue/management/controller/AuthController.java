@@ -5,13 +5,22 @@ import com.queue.management.dto.request.RegisterRequest;
 import com.queue.management.dto.request.ResetPasswordRequest;
 import com.queue.management.dto.response.ApiResponse;
 import com.queue.management.dto.response.LoginResponse;
+import com.queue.management.security.JwtTokenProvider;
+import com.queue.management.security.SecurityUser;
 import com.queue.management.service.AuthService;
+import com.queue.management.service.TokenRevocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -19,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
 
     // ─── REGISTER ──────────────────────────────────────────────────────────
 
@@ -44,27 +55,38 @@ public class AuthController {
 
     // ─── LOGIN ─────────────────────────────────────────────────────────────
 
+    // Hashing runs on the login executor; the request thread is released meanwhile
     @PostMapping("/login")
-    public ResponseEntity<ApiResponse<LoginResponse>> login(
+    public CompletableFuture<ResponseEntity<ApiResponse<LoginResponse>>> login(
             @Valid @RequestBody LoginRequest request) {
 
-        String token = authService.login(
+        return authService.loginAsync(
             request.getIdentifier(),
             request.getPassword(),
             request.getUserType(),
             request.getSelectedCounter()
-        );
+        ).thenApply(token -> {
+            LoginResponse loginResponse = LoginResponse.builder()
+                .token(token)
+                .userType(request.getUserType())
+                .identifier(request.getIdentifier())
+                .message("Login successful!")
+                .assignedCounter(request.getSelectedCounter())
+                .build();
+
+            log.info("User logged in: {}", request.getIdentifier());
+            return ResponseEntity.ok(ApiResponse.success("Login successful!", loginResponse));
+        });
+    }
 
-        LoginResponse loginResponse = LoginResponse.builder()
-            .token(token)
-            .userType(request.getUserType())
-            .identifier(request.getIdentifier())
-            .message("Login successful!")
-            .assignedCounter(request.getSelectedCounter())
-            .build();
+    // ─── KEY SET ───────────────────────────────────────────────────────────
 
-        log.info("User logged in: {}", request.getIdentifier());
-        return ResponseEntity.ok(ApiResponse.success("Login successful!", loginResponse));
+    // Plain JWK Set (not wrapped in ApiResponse) so standard JWT libraries can read it
+    @GetMapping("/jwks")
+    public ResponseEntity<Map<String, Object>> jwks() {
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.maxAge(Duration.ofMinutes(5)))
+            .body(jwtTokenProvider.getJwks());
     }
 
     // ─── FORGOT PASSWORD ───────────────────────────────────────────────────
@@ -104,6 +126,24 @@ public class AuthController {
         ));
     }
 
+    // ─── LOGOUT ────────────────────────────────────────────────────────────
+
+    // Revokes the bearer token of this request; it stops working on every instance
+    @PostMapping("/logout")
+    public ResponseEntity<ApiResponse<String>> logout(
+            @AuthenticationPrincipal SecurityUser user) {
+
+        if (user == null || user.getClaims() == null) {
+            return ResponseEntity.badRequest()
+                .body(ApiResponse.error("Not logged in!"));
+        }
+
+        tokenRevocationService.revokeToken(user.getClaims());
+
+        log.info("User logged out: {}", user.getUsername());
+        return ResponseEntity.ok(ApiResponse.success("Logged out successfully!", null));
+    }
+
     // ─── TEST ENDPOINT ─────────────────────────────────────────────────────
 
     @GetMapping("/test")
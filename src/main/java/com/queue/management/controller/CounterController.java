@@ -1,16 +1,30 @@
 package com.queue.management.controller;
 
+import com.queue.management.dto.request.SimulationRequest;
 import com.queue.management.dto.response.ApiResponse;
+import com.queue.management.dto.response.ArrivalForecastResponse;
+import com.queue.management.dto.response.BreakAnalyticsResponse;
+import com.queue.management.dto.response.CapacityPlanResponse;
+import com.queue.management.dto.response.QueueDepthSeriesResponse;
 import com.queue.management.dto.response.QueueStatusResponse;
+import com.queue.management.dto.response.SimulationResultResponse;
 import com.queue.management.dto.response.TokenResponse;
 import com.queue.management.security.SecurityUser;
+import com.queue.management.service.ArrivalForecastService;
+import com.queue.management.service.BreakAnalyticsService;
+import com.queue.management.service.CapacityPlannerService;
 import com.queue.management.service.CounterService;
+import com.queue.management.service.QueueMetricsService;
+import com.queue.management.service.SimulationService;
 import com.queue.management.service.TokenService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/counter")
@@ -20,6 +34,11 @@ public class CounterController {
 
     private final TokenService tokenService;
     private final CounterService counterService;
+    private final QueueMetricsService queueMetricsService;
+    private final ArrivalForecastService arrivalForecastService;
+    private final CapacityPlannerService capacityPlannerService;
+    private final SimulationService simulationService;
+    private final BreakAnalyticsService breakAnalyticsService;
 
     // ─── TOKEN MANAGEMENT ──────────────────────────────────────────────────
 
@@ -29,7 +48,7 @@ public class CounterController {
             @AuthenticationPrincipal SecurityUser user) {
 
         TokenResponse token = tokenService
-            .callNextToken(user.getAssignedCounter());
+            .callNextToken(user.getAssignedCounter(), user.getUsername());
 
         log.info("Called next token for Counter: {}",
             user.getAssignedCounter());
@@ -44,7 +63,7 @@ public class CounterController {
             @AuthenticationPrincipal SecurityUser user) {
 
         TokenResponse token = tokenService
-            .completeToken(user.getAssignedCounter());
+            .completeToken(user.getAssignedCounter(), user.getUsername());
 
         log.info("Token completed at Counter: {}",
             user.getAssignedCounter());
@@ -59,7 +78,7 @@ public class CounterController {
             @AuthenticationPrincipal SecurityUser user) {
 
         TokenResponse token = tokenService
-            .dropToken(user.getAssignedCounter());
+            .dropToken(user.getAssignedCounter(), user.getUsername());
 
         log.info("Token dropped at Counter: {}",
             user.getAssignedCounter());
@@ -168,4 +187,88 @@ public class CounterController {
             )
         );
     }
+
+    // ─── STATISTICS ────────────────────────────────────────────────────────
+
+    // Queue depth time series for my counter (defaults to today)
+    @GetMapping("/stats/queue-depth")
+    public ResponseEntity<ApiResponse<QueueDepthSeriesResponse>> getQueueDepth(
+            @AuthenticationPrincipal SecurityUser user,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        QueueDepthSeriesResponse series = queueMetricsService.getQueueDepthSeries(
+            user.getAssignedCounter(),
+            date != null ? date : LocalDate.now()
+        );
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Queue depth series fetched!", series)
+        );
+    }
+
+    // Arrival forecast per 15-minute slot for my counter (defaults to today)
+    @GetMapping("/stats/arrival-forecast")
+    public ResponseEntity<ApiResponse<ArrivalForecastResponse>> getArrivalForecast(
+            @AuthenticationPrincipal SecurityUser user,
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        ArrivalForecastResponse forecast = arrivalForecastService.getForecast(
+            user.getAssignedCounter(),
+            date != null ? date : LocalDate.now()
+        );
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Arrival forecast fetched!", forecast)
+        );
+    }
+
+    // M/M/c capacity plan: counters and daily limit needed to meet a wait-time target
+    @GetMapping("/stats/capacity-plan")
+    public ResponseEntity<ApiResponse<CapacityPlanResponse>> getCapacityPlan(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date,
+            @RequestParam(defaultValue = "10") Double targetWaitMinutes,
+            @RequestParam(defaultValue = "0.9") Double serviceLevel,
+            @RequestParam(defaultValue = "4") Integer maxCounters) {
+
+        CapacityPlanResponse plan = capacityPlannerService.plan(
+            date != null ? date : LocalDate.now(),
+            targetWaitMinutes,
+            serviceLevel,
+            maxCounters
+        );
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Capacity plan computed!", plan)
+        );
+    }
+
+    // Replay a historical day under a different counter count, limit or break policy
+    @PostMapping("/stats/simulate")
+    public ResponseEntity<ApiResponse<SimulationResultResponse>> simulate(
+            @Valid @RequestBody SimulationRequest request) {
+
+        SimulationResultResponse result = simulationService.simulate(request);
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Simulation completed!", result)
+        );
+    }
+
+    // Break analytics for a day (defaults to today)
+    @GetMapping("/stats/breaks")
+    public ResponseEntity<ApiResponse<BreakAnalyticsResponse>> getBreakAnalytics(
+            @RequestParam(required = false)
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+
+        BreakAnalyticsResponse analytics = breakAnalyticsService.getBreakAnalytics(
+            date != null ? date : LocalDate.now()
+        );
+
+        return ResponseEntity.ok(
+            ApiResponse.success("Break analytics fetched!", analytics)
+        );
+    }
 }
\ No newline at end of file
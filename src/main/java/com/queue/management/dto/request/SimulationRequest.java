@@ -0,0 +1,31 @@
+package com.queue.management.dto.request;
+
+import com.queue.management.enums.SimulationBreakPolicy;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class SimulationRequest {
+
+    // Day whose token arrivals and service times are replayed
+    @NotNull(message = "Date is required")
+    @PastOrPresent(message = "Date cannot be in the future")
+    private LocalDate date;
+
+    // How many counters to simulate (defaults to the configured counters)
+    @Min(value = 1, message = "At least one counter is required")
+    @Max(value = 20, message = "At most 20 counters can be simulated")
+    private Integer counters;
+
+    // Daily token limit per counter (defaults to the current limit)
+    @Min(value = 1, message = "Daily limit must be between 1 and 200")
+    @Max(value = 200, message = "Daily limit must be between 1 and 200")
+    private Integer dailyLimit;
+
+    // Replay that day's breaks or simulate without breaks
+    private SimulationBreakPolicy breakPolicy = SimulationBreakPolicy.REPLAY;
+}
@@ -0,0 +1,41 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.CounterName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArrivalForecastResponse {
+
+    // Counter name (A or B)
+    private CounterName counterName;
+
+    // Day being forecast
+    private LocalDate serviceDate;
+
+    // Length of one slot in minutes
+    private Integer slotMinutes;
+
+    // Forecast per slot, in time order
+    private List<ArrivalSlotForecast> slots;
+
+    // Tokens already issued (today only, 0 otherwise)
+    private Integer issuedSoFar;
+
+    // Issued so far + forecast for the rest of the day
+    private Double projectedTotal;
+
+    // Daily limit for this counter
+    private Integer dailyLimit;
+
+    // Slot in which the daily limit is expected to run out (null if it won't)
+    private LocalTime projectedLimitReachedAt;
+}
@@ -0,0 +1,23 @@
+package com.queue.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArrivalSlotForecast {
+
+    // Start of the 15-minute slot
+    private LocalTime slotStart;
+
+    // Forecast number of tokens issued in this slot
+    private Double expectedArrivals;
+
+    // Tokens actually issued in this slot (only for today's past slots)
+    private Integer actualArrivals;
+}
@@ -0,0 +1,26 @@
+package com.queue.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreakAnalyticsResponse {
+
+    private LocalDate date;
+
+    // Totals per counter
+    private List<CounterBreakSummary> counters;
+
+    // Every finished break that day, in start order
+    private List<BreakDetail> breaks;
+
+    // Actual / estimated duration over recent breaks, used for ETAs during breaks
+    private Double overrunFactor;
+}
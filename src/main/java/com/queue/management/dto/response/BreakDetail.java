@@ -0,0 +1,36 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.CounterName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BreakDetail {
+
+    private CounterName counterName;
+    private LocalDateTime breakStart;
+    private LocalDateTime breakEnd;
+    private String reason;
+
+    // Announced vs actual duration in minutes
+    private Integer estimatedMinutes;
+    private Integer actualMinutes;
+
+    // Tokens waiting when the break started
+    private Integer waitingAtStart;
+
+    // Tokens issued to the counter during the break (queue growth)
+    private Integer arrivalsDuringBreak;
+
+    // How far off the resume time shown to waiting students was (actual - estimated)
+    private Integer etaErrorMinutes;
+
+    // Total extra minutes waited by students who were already in the queue
+    private Integer delayedStudentMinutes;
+}
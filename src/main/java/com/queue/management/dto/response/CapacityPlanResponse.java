@@ -0,0 +1,46 @@
+package com.queue.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityPlanResponse {
+
+    // Day the plan is for
+    private LocalDate serviceDate;
+
+    // Forecast arrivals per hour in the busiest 15-minute slot (all counters)
+    private Double peakArrivalsPerHour;
+
+    // Forecast arrivals per hour averaged over service hours
+    private Double averageArrivalsPerHour;
+
+    // Forecast tokens for the whole day (all counters)
+    private Double expectedDailyArrivals;
+
+    // Measured average service time in minutes
+    private Double averageServiceTimeMinutes;
+
+    // Wait-time target: serviceLevel of students wait at most targetWaitMinutes
+    private Double targetWaitMinutes;
+    private Double targetServiceLevel;
+
+    // Counters currently ACTIVE
+    private Integer activeCounters;
+
+    // M/M/c results at peak load, one per number of counters
+    private List<CapacityScenario> scenarios;
+
+    // Fewest counters that meet the target at peak load (null if none tried does)
+    private Integer recommendedCounters;
+
+    // Largest daily limit per counter that still meets the target with the recommended counters
+    private Integer recommendedDailyLimit;
+}
@@ -0,0 +1,31 @@
+package com.queue.management.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CapacityScenario {
+
+    // Number of open counters in this scenario
+    private Integer counters;
+
+    // Fraction of time counters are busy (>= 1 means the queue grows without bound)
+    private Double utilization;
+
+    // Probability an arriving student has to wait (Erlang C)
+    private Double probabilityOfWaiting;
+
+    // Expected wait in queue in minutes (null if unstable)
+    private Double expectedWaitMinutes;
+
+    // Fraction of students served within the target wait
+    private Double serviceLevel;
+
+    // Does this scenario meet the wait-time target?
+    private Boolean meetsTarget;
+}
@@ -0,0 +1,27 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.CounterName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CounterBreakSummary {
+
+    private CounterName counterName;
+
+    // Finished breaks that day
+    private Integer breaks;
+
+    // Minutes actually spent on break vs announced
+    private Integer totalActualMinutes;
+    private Integer totalEstimatedMinutes;
+
+    // Breaks that ran longer than announced, and by how much in total
+    private Integer overruns;
+    private Integer overrunMinutes;
+}
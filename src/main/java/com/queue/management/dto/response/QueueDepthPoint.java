@@ -0,0 +1,27 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.CounterStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueDepthPoint {
+
+    // When the sample was taken
+    private LocalTime time;
+
+    // How many tokens were WAITING
+    private Integer waitingCount;
+
+    // Token code being served at that moment (null if idle)
+    private String currentlyServing;
+
+    // Counter status at that moment
+    private CounterStatus counterStatus;
+}
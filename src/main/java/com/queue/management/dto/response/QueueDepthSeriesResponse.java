@@ -0,0 +1,28 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.CounterName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QueueDepthSeriesResponse {
+
+    // Counter name (A or B)
+    private CounterName counterName;
+
+    // Day the series belongs to
+    private LocalDate serviceDate;
+
+    // Seconds between two samples
+    private Integer sampleIntervalSeconds;
+
+    // Samples in time order
+    private List<QueueDepthPoint> points;
+}
@@ -0,0 +1,52 @@
+package com.queue.management.dto.response;
+
+import com.queue.management.enums.SimulationBreakPolicy;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationResultResponse {
+
+    // Scenario that was simulated
+    private LocalDate date;
+    private Integer counters;
+    private Integer dailyLimit;
+    private SimulationBreakPolicy breakPolicy;
+
+    // Arrivals replayed / served / turned away (no counter accepting)
+    private Integer arrivals;
+    private Integer served;
+    private Integer rejected;
+
+    // Tokens left out of the replay (cancelled or rescheduled before being served)
+    private Integer skippedTokens;
+
+    // Simulated wait-time distribution in minutes
+    private Double meanWaitMinutes;
+    private Double p50WaitMinutes;
+    private Double p90WaitMinutes;
+    private Double p95WaitMinutes;
+    private Double maxWaitMinutes;
+
+    // Served tokens per wait bucket: [0, bucketMinutes), [bucketMinutes, 2 × bucketMinutes), ...
+    private Integer histogramBucketMinutes;
+    private List<Integer> waitHistogram;
+
+    // Tokens served per simulated counter
+    private List<Integer> servedPerCounter;
+
+    // When the last simulated token was completed
+    private LocalTime lastCompletion;
+
+    // What actually happened that day, for comparison
+    private Double actualMeanWaitMinutes;
+    private Double actualP90WaitMinutes;
+}
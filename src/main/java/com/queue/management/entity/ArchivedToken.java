@@ -0,0 +1,96 @@
+package com.queue.management.entity;
+
+import com.queue.management.enums.TokenStatus;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// A token of a closed day, moved out of the hot tokens table by TokenArchiveService.
+// Same columns and ids as Token; rows are only ever inserted by INSERT … SELECT.
+@Entity
+@Immutable
+@Table(name = "tokens_archive", indexes = {
+    @Index(name = "idx_archive_student_date_created", columnList = "student_id, service_date, created_at"),
+    @Index(name = "idx_archive_counter_status_date_completed", columnList = "counter_id, status, service_date, completed_at"),
+    @Index(name = "idx_archive_created_counter", columnList = "created_at, counter_id")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchivedToken {
+
+    // Id the token had in the tokens table
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counter_id", nullable = false)
+    private ServiceCounter counter;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "student_id", nullable = false)
+    private Student student;
+
+    @Column(name = "token_number", nullable = false)
+    private Integer tokenNumber;
+
+    @Column(name = "token_code", nullable = false, length = 10)
+    private String tokenCode;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private TokenStatus status;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "served_at")
+    private LocalDateTime servedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "dropped_at")
+    private LocalDateTime droppedAt;
+
+    @Column(name = "served_by", length = 20)
+    private String servedBy;
+
+    @Column(name = "is_rescheduled")
+    private Boolean isRescheduled;
+
+    @Column(name = "original_service_date")
+    private LocalDate originalServiceDate;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+
+    // Detached Token view, so history and statistics treat both tables alike
+    public Token toToken() {
+        return Token.builder()
+                .id(id)
+                .counter(counter)
+                .student(student)
+                .tokenNumber(tokenNumber)
+                .tokenCode(tokenCode)
+                .status(status)
+                .serviceDate(serviceDate)
+                .createdAt(createdAt)
+                .servedAt(servedAt)
+                .completedAt(completedAt)
+                .droppedAt(droppedAt)
+                .servedBy(servedBy)
+                .isRescheduled(isRescheduled)
+                .originalServiceDate(originalServiceDate)
+                .build();
+    }
+}
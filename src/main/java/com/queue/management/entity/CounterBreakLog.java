@@ -8,7 +8,12 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "counter_break_logs")
+@Table(name = "counter_break_logs",
+       indexes = {
+           @Index(name = "idx_counter_date", columnList = "counter_id, break_start"),
+           // Break analytics filter on a break_start range across all counters
+           @Index(name = "idx_break_start_counter", columnList = "break_start, counter_id")
+       })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
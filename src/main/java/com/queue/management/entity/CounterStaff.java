@@ -30,6 +30,11 @@ public class CounterStaff {
     
     @Column(nullable = false, length = 255)
     private String password;
+
+    // Bumped on every password change/reset; JWTs carry the version they were issued with
+    @Column(name = "credential_version", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Integer credentialVersion = 0;
     
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -0,0 +1,57 @@
+package com.queue.management.entity;
+
+import com.queue.management.enums.UserType;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// One row per student and counter staff member, kept in sync with both tables,
+// so any identity lookup (by identifier or email) is a single indexed query
+@Entity
+@Table(name = "principals", indexes = {
+    @Index(name = "idx_principal_email", columnList = "email")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Principal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Roll number for student, staff ID for staff
+    @Column(unique = true, nullable = false, length = 20)
+    private String identifier;
+
+    @Column(nullable = false, length = 100)
+    private String email;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "user_type", nullable = false, length = 20)
+    private UserType userType;
+
+    @Column(nullable = false, length = 100)
+    private String name;
+
+    // Copy of the BCrypt hash in students / counter_staff
+    @Column(nullable = false, length = 255)
+    private String password;
+
+    @Column(name = "credential_version", nullable = false)
+    @Builder.Default
+    private Integer credentialVersion = 0;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.queue.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "queue_depth_snapshots",
+       uniqueConstraints = @UniqueConstraint(columnNames = {"counter_id", "service_date"}))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QueueDepthSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "counter_id", nullable = false)
+    private ServiceCounter counter;
+
+    @Column(name = "service_date", nullable = false)
+    private LocalDate serviceDate;
+
+    // Sampling interval the series was recorded with
+    @Column(name = "sample_interval_seconds", nullable = false)
+    private Integer sampleIntervalSeconds;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    // Packed samples, see QueueDepthRingBuffer for the layout
+    @Lob
+    @Column(nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] samples;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        updatedAt = LocalDateTime.now();
+    }
+}
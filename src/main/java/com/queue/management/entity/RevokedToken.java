@@ -0,0 +1,48 @@
+package com.queue.management.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.time.LocalDateTime;
+
+// A revoked JWT (by jti) or every JWT of a user issued before a point in time
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+    @Index(name = "idx_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // "jti" of a single revoked token (null for user-wide revocations)
+    @Column(unique = true, length = 36)
+    private String jti;
+
+    // Roll number / staff ID
+    @Column(nullable = false, length = 50)
+    private String subject;
+
+    // User-wide revocation: tokens issued before this instant are invalid
+    @Column(name = "revoked_before")
+    private LocalDateTime revokedBefore;
+
+    // After this every affected token has expired anyway, so the row can go
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -5,14 +5,20 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDateTime;
 
+// Second-level cached: loaded on every token generation (region config in application.conf).
+// Password checks and writes use StudentRepository.findFreshByRollNumber, not the cached copy.
 @Entity
 @Table(name = "students")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "students")
 public class Student {
     
     @Id
@@ -30,6 +36,11 @@ public class Student {
     
     @Column(nullable = false, length = 255)
     private String password;
+
+    // Bumped on every password change/reset; JWTs carry the version they were issued with
+    @Column(name = "credential_version", nullable = false, columnDefinition = "INT NOT NULL DEFAULT 0")
+    @Builder.Default
+    private Integer credentialVersion = 0;
     
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
@@ -13,15 +13,36 @@ import java.time.LocalDateTime;
 @Table(name = "tokens",
     uniqueConstraints = @UniqueConstraint(
         columnNames = {"counter_id", "service_date", "token_number"}
-    ))
+    ),
+    // One index per TokenRepository access path; see schema.sql
+    indexes = {
+        @Index(name = "idx_counter_status_date_number", columnList = "counter_id, status, service_date, token_number"),
+        @Index(name = "idx_counter_status_date_completed", columnList = "counter_id, status, service_date, completed_at"),
+        @Index(name = "idx_student_date_created", columnList = "student_id, service_date, created_at"),
+        @Index(name = "idx_student_created", columnList = "student_id, created_at"),
+        @Index(name = "idx_created_counter", columnList = "created_at, counter_id")
+    })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Token {
+
+    // IDs reserved per trip to id_generators
+    public static final int ID_ALLOCATION_SIZE = 50;
     
+    // Table-backed pooled IDs: Hibernate reserves 50 IDs per round trip and,
+    // unlike IDENTITY, can batch token INSERTs. Seeded by IdGeneratorInitializer.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "token_id")
+    @TableGenerator(
+        name = "token_id",
+        table = "id_generators",
+        pkColumnName = "generator_name",
+        valueColumnName = "next_value",
+        pkColumnValue = "tokens",
+        allocationSize = Token.ID_ALLOCATION_SIZE
+    )
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
@@ -55,6 +76,14 @@ public class Token {
     @Column(name = "completed_at")
     private LocalDateTime completedAt;
     
+    // When the token was cancelled or dropped (null for older DROPPED rows)
+    @Column(name = "dropped_at")
+    private LocalDateTime droppedAt;
+    
+    // Staff id of the desk that called the token; complete/drop act on this desk's token
+    @Column(name = "served_by", length = 20)
+    private String servedBy;
+    
     @Column(name = "is_rescheduled")
     @Builder.Default
     private Boolean isRescheduled = false;
@@ -62,6 +91,11 @@ public class Token {
     @Column(name = "original_service_date")
     private LocalDate originalServiceDate;
     
+    // NOT NULL so ddl-auto fills existing rows with 0 instead of NULL
+    @Version
+    @Column(nullable = false)
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -6,5 +6,6 @@ public enum NotificationType {
     POSITION_ALERT,       // Student entered the "next 4" zone
     TOKEN_COMPLETED_AHEAD,// A token ahead of you completed
     COUNTER_BREAK,        // Your counter went on break
-    COUNTER_RESUME        // Your counter resumed from break
+    COUNTER_RESUME,       // Your counter resumed from break
+    COUNTER_CLOSED        // Your counter closed; token expired or moved to next day
 }
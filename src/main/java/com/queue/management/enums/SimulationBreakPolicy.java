@@ -0,0 +1,6 @@
+package com.queue.management.enums;
+
+public enum SimulationBreakPolicy {
+    REPLAY,   // Replay the breaks recorded in counter_break_logs that day
+    NONE      // Simulate the day without any counter breaks
+}
@@ -2,6 +2,7 @@ package com.queue.management.exception;
 
 import com.queue.management.dto.response.ApiResponse;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -23,6 +24,15 @@ public class GlobalExceptionHandler {
                 .body(ApiResponse.error(ex.getMessage()));
     }
 
+    // Login executor is saturated - ask the client to retry instead of queueing forever
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ApiResponse<Void>> handleTaskRejected(TaskRejectedException ex) {
+        log.warn("Login rejected, executor saturated: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(ApiResponse.error("Too many logins in progress. Please try again in a moment."));
+    }
+
     // Handle @Valid validation failures on request bodies
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse<Void>> handleValidationException(
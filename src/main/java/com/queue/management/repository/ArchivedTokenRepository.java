@@ -0,0 +1,50 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.ArchivedToken;
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.repository.projection.ServiceTimeView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedTokenRepository extends JpaRepository<ArchivedToken, Long> {
+
+    // Archived token history for a student — newest first
+    List<ArchivedToken> findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc(String rollNumber);
+
+    // Archived tokens generated within a time window, oldest first (for simulation replay)
+    List<ArchivedToken> findByCreatedAtBetweenOrderByCreatedAtAsc(LocalDateTime start, LocalDateTime end);
+
+    // Served/completed times of the last 10 completed tokens of a closed day
+    @Query("SELECT t.servedAt AS servedAt, t.completedAt AS completedAt " +
+           "FROM ArchivedToken t WHERE t.counter = :counter " +
+           "AND t.status = 'COMPLETED' " +
+           "AND t.serviceDate = :date " +
+           "ORDER BY t.completedAt DESC " +
+           "LIMIT 10")
+    List<ServiceTimeView> findLast10ServiceTimes(@Param("counter") ServiceCounter counter,
+                                                 @Param("date") LocalDate date);
+
+    // Copy tokens into the archive, keeping their ids
+    // Native write to tokens_archive only; spares the second-level cache of other tables
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tokens_archive"))
+    @Query(value = "INSERT INTO tokens_archive (id, counter_id, student_id, token_number, token_code, " +
+                   "status, service_date, created_at, served_at, completed_at, dropped_at, served_by, is_rescheduled, " +
+                   "original_service_date, archived_at) " +
+                   "SELECT id, counter_id, student_id, token_number, token_code, " +
+                   "status, service_date, created_at, served_at, completed_at, dropped_at, served_by, is_rescheduled, " +
+                   "original_service_date, NOW() " +
+                   "FROM tokens WHERE id IN (:ids)",
+           nativeQuery = true)
+    int copyFromTokens(@Param("ids") List<Long> ids);
+}
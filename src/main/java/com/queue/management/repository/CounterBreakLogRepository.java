@@ -2,10 +2,16 @@ package com.queue.management.repository;
 
 import com.queue.management.entity.CounterBreakLog;
 import com.queue.management.entity.ServiceCounter;
+import com.queue.management.repository.projection.BreakDurationPriorView;
+import com.queue.management.repository.projection.BreakQueueImpactView;
+import com.queue.management.repository.projection.BreakSummaryView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CounterBreakLogRepository extends JpaRepository<CounterBreakLog, Long> {
@@ -19,7 +25,69 @@ public interface CounterBreakLogRepository extends JpaRepository<CounterBreakLog
         LocalDateTime startDate, 
         LocalDateTime endDate
     );
+
+    // Find break logs of all counters started within a time window
+    List<CounterBreakLog> findByBreakStartBetweenOrderByBreakStartAsc(
+        LocalDateTime startDate,
+        LocalDateTime endDate
+    );
     
     // Find currently active break (break started but not ended)
     List<CounterBreakLog> findByCounterAndBreakEndIsNull(ServiceCounter counter);
-}
\ No newline at end of file
+
+    // Find the latest open break for a counter (single row via (counter_id, break_start))
+    Optional<CounterBreakLog> findTopByCounterAndBreakEndIsNullOrderByBreakStartDesc(ServiceCounter counter);
+
+    // Per-counter totals of finished breaks started in [from, to)
+    @Query("SELECT b.counter.name AS counterName, " +
+           "COUNT(b) AS breaks, " +
+           "COALESCE(SUM(b.actualDuration), 0) AS totalActualMinutes, " +
+           "COALESCE(SUM(b.estimatedDuration), 0) AS totalEstimatedMinutes, " +
+           "SUM(CASE WHEN b.actualDuration > b.estimatedDuration THEN 1 ELSE 0 END) AS overruns, " +
+           "SUM(CASE WHEN b.actualDuration > b.estimatedDuration " +
+           "    THEN b.actualDuration - b.estimatedDuration ELSE 0 END) AS overrunMinutes " +
+           "FROM CounterBreakLog b " +
+           "WHERE b.breakStart >= :from AND b.breakStart < :to AND b.breakEnd IS NOT NULL " +
+           "GROUP BY b.counter.name")
+    List<BreakSummaryView> summarizeBreaks(@Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+
+    // Queue size at break start and tokens issued during the break, per finished break in [from, to)
+    // A token counts as waiting at break start if it was issued before it, not yet called,
+    // and not cancelled/dropped before it. DROPPED rows from before dropped_at existed have
+    // no drop time and are left out. RESCHEDULED tokens are only moved at counter close,
+    // so they were still waiting and stay counted.
+    @Query("SELECT b.id AS breakId, " +
+           "SUM(CASE WHEN t.createdAt < b.breakStart " +
+           "    AND (t.servedAt IS NULL OR t.servedAt > b.breakStart) " +
+           "    AND (t.status <> 'DROPPED' OR t.droppedAt > b.breakStart) THEN 1 ELSE 0 END) AS waitingAtStart, " +
+           "SUM(CASE WHEN t.createdAt >= b.breakStart THEN 1 ELSE 0 END) AS arrivalsDuringBreak " +
+           "FROM CounterBreakLog b JOIN Token t ON t.counter = b.counter " +
+           "WHERE b.breakStart >= :from AND b.breakStart < :to AND b.breakEnd IS NOT NULL " +
+           "AND t.createdAt >= :from AND t.createdAt < b.breakEnd " +
+           "GROUP BY b.id")
+    List<BreakQueueImpactView> measureQueueImpact(@Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    // Same as measureQueueImpact, over tokens already moved to the archive
+    @Query("SELECT b.id AS breakId, " +
+           "SUM(CASE WHEN t.createdAt < b.breakStart " +
+           "    AND (t.servedAt IS NULL OR t.servedAt > b.breakStart) " +
+           "    AND (t.status <> 'DROPPED' OR t.droppedAt > b.breakStart) THEN 1 ELSE 0 END) AS waitingAtStart, " +
+           "SUM(CASE WHEN t.createdAt >= b.breakStart THEN 1 ELSE 0 END) AS arrivalsDuringBreak " +
+           "FROM CounterBreakLog b JOIN ArchivedToken t ON t.counter = b.counter " +
+           "WHERE b.breakStart >= :from AND b.breakStart < :to AND b.breakEnd IS NOT NULL " +
+           "AND t.createdAt >= :from AND t.createdAt < b.breakEnd " +
+           "GROUP BY b.id")
+    List<BreakQueueImpactView> measureArchivedQueueImpact(@Param("from") LocalDateTime from,
+                                                          @Param("to") LocalDateTime to);
+
+    // Estimate-vs-actual totals of finished breaks since a point in time
+    @Query("SELECT COUNT(b) AS breaks, " +
+           "SUM(CASE WHEN b.estimatedDuration IS NOT NULL THEN b.estimatedDuration ELSE 0 END) AS estimatedMinutes, " +
+           "SUM(CASE WHEN b.estimatedDuration IS NOT NULL THEN b.actualDuration ELSE 0 END) AS actualMinutesWithEstimate, " +
+           "AVG(b.actualDuration) AS averageActualMinutes " +
+           "FROM CounterBreakLog b " +
+           "WHERE b.breakStart >= :since AND b.breakEnd IS NOT NULL")
+    BreakDurationPriorView findBreakDurationPrior(@Param("since") LocalDateTime since);
+}
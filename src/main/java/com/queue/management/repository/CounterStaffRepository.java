@@ -3,6 +3,7 @@ package com.queue.management.repository;
 import com.queue.management.entity.CounterStaff;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -19,4 +20,7 @@ public interface CounterStaffRepository extends JpaRepository<CounterStaff, Long
     
     // Check if email exists
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Staff whose credentials changed at least once (to seed the credential version registry)
+    List<CounterStaff> findByCredentialVersionGreaterThan(Integer credentialVersion);
+}
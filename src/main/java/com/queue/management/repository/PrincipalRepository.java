@@ -0,0 +1,59 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.Principal;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PrincipalRepository extends JpaRepository<Principal, Long> {
+
+    // Student or staff by roll number / staff ID
+    Optional<Principal> findByIdentifier(String identifier);
+
+    // Every account registered with this email (normally one)
+    List<Principal> findByEmail(String email);
+
+    boolean existsByEmail(String email);
+
+    // Idempotent backfill from students; an identifier already owned by staff is left alone
+    // Native write to principals only; spares the second-level cache of other tables
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "principals"))
+    @Query(value = "INSERT INTO principals (identifier, email, user_type, name, password, credential_version, updated_at) " +
+                   "SELECT s.roll_number, s.email, 'STUDENT', s.name, s.password, s.credential_version, NOW() " +
+                   "FROM students s " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "email = IF(user_type = 'STUDENT', VALUES(email), email), " +
+                   "name = IF(user_type = 'STUDENT', VALUES(name), name), " +
+                   "password = IF(user_type = 'STUDENT', VALUES(password), password), " +
+                   "credential_version = IF(user_type = 'STUDENT', VALUES(credential_version), credential_version), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int backfillStudents();
+
+    // Idempotent backfill from counter_staff; an identifier already owned by a student is left alone
+    // Native write to principals only; spares the second-level cache of other tables
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "principals"))
+    @Query(value = "INSERT INTO principals (identifier, email, user_type, name, password, credential_version, updated_at) " +
+                   "SELECT c.staff_id, c.email, 'COUNTER_STAFF', c.name, c.password, c.credential_version, NOW() " +
+                   "FROM counter_staff c " +
+                   "ON DUPLICATE KEY UPDATE " +
+                   "email = IF(user_type = 'COUNTER_STAFF', VALUES(email), email), " +
+                   "name = IF(user_type = 'COUNTER_STAFF', VALUES(name), name), " +
+                   "password = IF(user_type = 'COUNTER_STAFF', VALUES(password), password), " +
+                   "credential_version = IF(user_type = 'COUNTER_STAFF', VALUES(credential_version), credential_version), " +
+                   "updated_at = NOW()",
+           nativeQuery = true)
+    int backfillStaff();
+}
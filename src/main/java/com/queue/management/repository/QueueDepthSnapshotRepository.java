@@ -0,0 +1,21 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.QueueDepthSnapshot;
+import com.queue.management.entity.ServiceCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface QueueDepthSnapshotRepository extends JpaRepository<QueueDepthSnapshot, Long> {
+
+    // Find the stored series for a counter on a specific date
+    Optional<QueueDepthSnapshot> findByCounterAndServiceDate(ServiceCounter counter, LocalDate serviceDate);
+
+    // Same row, locked until commit, so instances merging their samples into it take turns
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<QueueDepthSnapshot> findForUpdateByCounterAndServiceDate(ServiceCounter counter, LocalDate serviceDate);
+}
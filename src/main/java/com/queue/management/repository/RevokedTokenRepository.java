@@ -0,0 +1,26 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    // Revocations still in force, oldest first (startup load)
+    List<RevokedToken> findByExpiresAtAfterOrderByIdAsc(LocalDateTime now);
+
+    // Revocations written since the last sync (possibly by another instance): new ids,
+    // plus a trailing window of recent rows that may have committed out of id order
+    List<RevokedToken> findByIdGreaterThanOrCreatedAtGreaterThanEqualOrderByIdAsc(Long id, LocalDateTime since);
+
+    // Drop revocations whose tokens have all expired
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -3,7 +3,11 @@ package com.queue.management.repository;
 import com.queue.management.entity.ServiceCounter;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.CounterStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,9 +15,16 @@ import java.util.Optional;
 @Repository
 public interface ServiceCounterRepository extends JpaRepository<ServiceCounter, Long> {
     
-    // Find counter by name (A or B)
+    // Find counter by name (A or B); result cached until service_counters changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<ServiceCounter> findByName(CounterName name);
     
+    // Every counter read from the database, never from the second-level cache
+    // (REFRESH also rewrites the cached copies). For the counter registry resync.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT c FROM ServiceCounter c")
+    List<ServiceCounter> findAllFresh();
+    
     // Find all available counters (status = ACTIVE)
     List<ServiceCounter> findByStatus(CounterStatus status);
     
@@ -1,15 +1,29 @@
 package com.queue.management.repository;
 
 import com.queue.management.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
     
-    // Find student by roll number
+    // Find student by roll number; result cached until students changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Student> findByRollNumber(String rollNumber);
+
+    // Same lookup read from the database, never from the second-level or query cache
+    // (REFRESH also rewrites the cached copy). For password checks and for loads that are
+    // saved again: the cached row can be stale when another instance changed it.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHE_MODE, value = "REFRESH"))
+    @Query("SELECT s FROM Student s WHERE s.rollNumber = :rollNumber")
+    Optional<Student> findFreshByRollNumber(@Param("rollNumber") String rollNumber);
     
     // Find student by email
     Optional<Student> findByEmail(String email);
@@ -19,4 +33,7 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
     
     // Check if email exists
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Students whose credentials changed at least once (to seed the credential version registry)
+    List<Student> findByCredentialVersionGreaterThan(Integer credentialVersion);
+}
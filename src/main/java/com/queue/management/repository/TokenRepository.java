@@ -3,11 +3,22 @@ package com.queue.management.repository;
 import com.queue.management.entity.ServiceCounter;
 import com.queue.management.entity.Token;
 import com.queue.management.enums.TokenStatus;
+import com.queue.management.repository.projection.QueueEntryView;
+import com.queue.management.repository.projection.ServiceTimeView;
+import com.queue.management.repository.projection.StatusCountView;
+import com.queue.management.repository.projection.TokenSummaryView;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -21,27 +32,17 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     // Count tokens for a counter on a specific date
     long countByCounterAndServiceDate(ServiceCounter counter, LocalDate serviceDate);
 
-    // Find all WAITING tokens for a counter on a specific date, ordered by token number
-    List<Token> findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
+    // Count tokens with a given status for a counter on a specific date
+    long countByCounterAndStatusAndServiceDate(
             ServiceCounter counter, TokenStatus status, LocalDate serviceDate);
 
-    // Find the currently SERVING token for a counter on a specific date
-    // Uses findTop to safely handle edge cases where stale SERVING rows exist
-    Optional<Token> findTopByCounterAndStatusAndServiceDateOrderByServedAtDesc(
+    // Find all WAITING tokens for a counter on a specific date, ordered by token number
+    List<Token> findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
             ServiceCounter counter, TokenStatus status, LocalDate serviceDate);
 
     // Find all tokens by counter and date
     List<Token> findByCounterAndServiceDate(ServiceCounter counter, LocalDate serviceDate);
 
-    // Find the most recent token for a student regardless of date (for getMyToken)
-    // Returns WAITING, SERVING, or RESCHEDULED tokens so rescheduled tokens are visible too
-    Optional<Token> findTopByStudent_RollNumberAndStatusInOrderByCreatedAtDesc(
-            String rollNumber, Collection<TokenStatus> statuses);
-
-    // Find student's token with specific status for a specific date (for cancel/position)
-    Optional<Token> findByStudent_RollNumberAndStatusAndServiceDate(
-            String rollNumber, TokenStatus status, LocalDate serviceDate);
-
     // Check if student has any active token today (for validation - avoids multi-row crash)
     boolean existsByStudent_RollNumberAndStatusInAndServiceDate(
             String rollNumber, Collection<TokenStatus> statuses, LocalDate serviceDate);
@@ -49,12 +50,214 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
     // Find token history for a student — all tokens ordered newest first
     List<Token> findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc(String rollNumber);
 
-    // Find last 10 completed tokens for average time calculation
-    @Query("SELECT t FROM Token t WHERE t.counter = :counter " +
+    // Find all tokens generated within a time window, oldest first (for simulation replay)
+    List<Token> findByCreatedAtBetweenOrderByCreatedAtAsc(LocalDateTime start, LocalDateTime end);
+
+    // Served/completed times of the last 10 completed tokens, for average time calculation
+    @Query("SELECT t.servedAt AS servedAt, t.completedAt AS completedAt " +
+           "FROM Token t WHERE t.counter = :counter " +
            "AND t.status = 'COMPLETED' " +
            "AND t.serviceDate = :date " +
            "ORDER BY t.completedAt DESC " +
            "LIMIT 10")
-    List<Token> findLast10CompletedTokens(@Param("counter") ServiceCounter counter,
+    List<ServiceTimeView> findLast10ServiceTimes(@Param("counter") ServiceCounter counter,
+                                                 @Param("date") LocalDate date);
+
+    // Most recent token of a student regardless of date (for getMyToken)
+    // Called with WAITING, SERVING and RESCHEDULED so rescheduled tokens are visible too
+    @Query("SELECT t.id AS tokenId, t.tokenCode AS tokenCode, t.tokenNumber AS tokenNumber, " +
+           "c.name AS counterName, t.status AS status, t.serviceDate AS serviceDate, " +
+           "t.createdAt AS createdAt, t.servedAt AS servedAt, t.completedAt AS completedAt, " +
+           "t.isRescheduled AS isRescheduled " +
+           "FROM Token t JOIN t.counter c JOIN t.student s " +
+           "WHERE s.rollNumber = :rollNumber AND t.status IN :statuses " +
+           "ORDER BY t.createdAt DESC " +
+           "LIMIT 1")
+    Optional<TokenSummaryView> findLatestTokenSummary(@Param("rollNumber") String rollNumber,
+                                                      @Param("statuses") Collection<TokenStatus> statuses);
+
+    // A student's token in one of the given statuses on a given day
+    @Query("SELECT t.id AS tokenId, t.tokenCode AS tokenCode, t.tokenNumber AS tokenNumber, " +
+           "c.name AS counterName, t.status AS status, t.serviceDate AS serviceDate, " +
+           "t.createdAt AS createdAt, t.servedAt AS servedAt, t.completedAt AS completedAt, " +
+           "t.isRescheduled AS isRescheduled " +
+           "FROM Token t JOIN t.counter c JOIN t.student s " +
+           "WHERE s.rollNumber = :rollNumber AND t.status IN :statuses AND t.serviceDate = :date " +
+           "ORDER BY t.createdAt DESC " +
+           "LIMIT 1")
+    Optional<TokenSummaryView> findTokenSummaryForDate(@Param("rollNumber") String rollNumber,
+                                                       @Param("statuses") Collection<TokenStatus> statuses,
+                                                       @Param("date") LocalDate date);
+
+    // A single token as the student sees it (e.g. right after a status change)
+    @Query("SELECT t.id AS tokenId, t.tokenCode AS tokenCode, t.tokenNumber AS tokenNumber, " +
+           "c.name AS counterName, t.status AS status, t.serviceDate AS serviceDate, " +
+           "t.createdAt AS createdAt, t.servedAt AS servedAt, t.completedAt AS completedAt, " +
+           "t.isRescheduled AS isRescheduled " +
+           "FROM Token t JOIN t.counter c JOIN t.student s " +
+           "WHERE t.id = :id")
+    Optional<TokenSummaryView> findTokenSummaryById(@Param("id") Long id);
+
+    // How many WAITING tokens are ahead of the student's own WAITING token (0 if none)
+    @Query("SELECT COUNT(o) FROM Token m, Token o " +
+           "WHERE m.student.rollNumber = :rollNumber AND m.status = 'WAITING' AND m.serviceDate = :date " +
+           "AND o.counter = m.counter AND o.status = 'WAITING' AND o.serviceDate = :date " +
+           "AND o.tokenNumber < m.tokenNumber")
+    long countWaitingAhead(@Param("rollNumber") String rollNumber,
+                           @Param("date") LocalDate date);
+
+    // Token counts per status for a counter and day
+    @Query("SELECT t.status AS status, COUNT(t) AS tokens " +
+           "FROM Token t WHERE t.counter = :counter AND t.serviceDate = :date " +
+           "GROUP BY t.status")
+    List<StatusCountView> countByStatus(@Param("counter") ServiceCounter counter,
+                                        @Param("date") LocalDate date);
+
+    // First queue entry in token order
+    @Query("SELECT t.id AS tokenId, t.tokenNumber AS tokenNumber, " +
+           "t.tokenCode AS tokenCode, s.rollNumber AS rollNumber " +
+           "FROM Token t JOIN t.student s " +
+           "WHERE t.counter = :counter AND t.status = :status AND t.serviceDate = :date " +
+           "ORDER BY t.tokenNumber " +
+           "LIMIT 1")
+    Optional<QueueEntryView> findFirstQueueEntry(@Param("counter") ServiceCounter counter,
+                                                 @Param("status") TokenStatus status,
+                                                 @Param("date") LocalDate date);
+
+    // Most recently called entry (the one being served)
+    // Latest by servedAt, so stale SERVING rows from an earlier call don't get picked
+    @Query("SELECT t.id AS tokenId, t.tokenNumber AS tokenNumber, " +
+           "t.tokenCode AS tokenCode, s.rollNumber AS rollNumber " +
+           "FROM Token t JOIN t.student s " +
+           "WHERE t.counter = :counter AND t.status = :status AND t.serviceDate = :date " +
+           "ORDER BY t.servedAt DESC " +
+           "LIMIT 1")
+    Optional<QueueEntryView> findLatestServedEntry(@Param("counter") ServiceCounter counter,
+                                                   @Param("status") TokenStatus status,
+                                                   @Param("date") LocalDate date);
+
+    // The entry a given desk is serving (the token that staff member called)
+    @Query("SELECT t.id AS tokenId, t.tokenNumber AS tokenNumber, " +
+           "t.tokenCode AS tokenCode, s.rollNumber AS rollNumber " +
+           "FROM Token t JOIN t.student s " +
+           "WHERE t.counter = :counter AND t.status = 'SERVING' AND t.serviceDate = :date " +
+           "AND t.servedBy = :staffId " +
+           "ORDER BY t.servedAt DESC " +
+           "LIMIT 1")
+    Optional<QueueEntryView> findServingEntryForDesk(@Param("counter") ServiceCounter counter,
+                                                     @Param("date") LocalDate date,
+                                                     @Param("staffId") String staffId);
+
+    // Staff id of the desk that called a token (null if never called)
+    @Query("SELECT t.servedBy FROM Token t WHERE t.id = :id")
+    Optional<String> findServedBy(@Param("id") Long id);
+
+    // Count arrivals per counter, day and 15-minute slot since a point in time (hot and archived tokens)
+    // Row: [counter name, day (yyyy-MM-dd), slot index 0-95, arrivals]
+    @Query(value = "SELECT c.name, DATE_FORMAT(t.created_at, '%Y-%m-%d'), " +
+                   "HOUR(t.created_at) * 4 + FLOOR(MINUTE(t.created_at) / 15), COUNT(*) " +
+                   "FROM (SELECT counter_id, created_at FROM tokens WHERE created_at >= :since " +
+                   "      UNION ALL " +
+                   "      SELECT counter_id, created_at FROM tokens_archive WHERE created_at >= :since) t " +
+                   "JOIN service_counters c ON c.id = t.counter_id " +
+                   "GROUP BY 1, 2, 3 " +
+                   "ORDER BY 2",
+           nativeQuery = true)
+    List<Object[]> countArrivalsPerSlotSince(@Param("since") LocalDateTime since);
+
+    // Queue entries of a counter in token order, with the owning student's roll number
+    @Query("SELECT t.id AS tokenId, t.tokenNumber AS tokenNumber, " +
+           "t.tokenCode AS tokenCode, s.rollNumber AS rollNumber " +
+           "FROM Token t JOIN t.student s " +
+           "WHERE t.counter = :counter AND t.status = :status AND t.serviceDate = :date " +
+           "ORDER BY t.tokenNumber")
+    List<QueueEntryView> findQueueEntries(@Param("counter") ServiceCounter counter,
+                                          @Param("status") TokenStatus status,
+                                          @Param("date") LocalDate date);
+
+    // Same rows, locked until commit (with the index gap, so no new WAITING token slips in);
+    // a following bulk update then changes exactly the tokens returned here
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t.id AS tokenId, t.tokenNumber AS tokenNumber, " +
+           "t.tokenCode AS tokenCode, s.rollNumber AS rollNumber " +
+           "FROM Token t JOIN t.student s " +
+           "WHERE t.counter = :counter AND t.status = :status AND t.serviceDate = :date " +
+           "ORDER BY t.tokenNumber")
+    List<QueueEntryView> lockQueueEntries(@Param("counter") ServiceCounter counter,
+                                          @Param("status") TokenStatus status,
                                           @Param("date") LocalDate date);
+
+    // Move every token of a counter/day from one status to another in one statement
+    // droppedAt is recorded when given (null keeps the current value)
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Token t SET t.status = :newStatus, " +
+           "t.droppedAt = COALESCE(:droppedAt, t.droppedAt), " +
+           "t.version = t.version + 1 " +
+           "WHERE t.counter = :counter AND t.status = :status AND t.serviceDate = :date")
+    int bulkUpdateStatus(@Param("counter") ServiceCounter counter,
+                         @Param("status") TokenStatus status,
+                         @Param("date") LocalDate date,
+                         @Param("newStatus") TokenStatus newStatus,
+                         @Param("droppedAt") LocalDateTime droppedAt);
+
+    // Reschedule all of today's WAITING tokens of a counter to the next day and
+    // renumber them 1..n in their current order, in one statement
+    // Native write to tokens only; spares the second-level cache of other tables
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tokens"))
+    @Query(value = "UPDATE tokens t " +
+                   "JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY token_number) AS rn " +
+                   "      FROM tokens " +
+                   "      WHERE counter_id = :counterId AND status = 'WAITING' AND service_date = :today) r " +
+                   "ON r.id = t.id " +
+                   "SET t.status = 'RESCHEDULED', " +
+                   "t.is_rescheduled = TRUE, " +
+                   "t.original_service_date = t.service_date, " +
+                   "t.service_date = :nextDay, " +
+                   "t.token_number = r.rn, " +
+                   "t.token_code = CONCAT(:prefix, '-', LPAD(r.rn, 3, '0')), " +
+                   "t.version = t.version + 1",
+           nativeQuery = true)
+    int rescheduleWaitingTokens(@Param("counterId") Long counterId,
+                                @Param("today") LocalDate today,
+                                @Param("nextDay") LocalDate nextDay,
+                                @Param("prefix") String prefix);
+
+    // Move one token to a new status, but only while it is still in one of fromStatuses.
+    // Null timestamps and servedBy keep their current value. Returns 0 when the token has already moved on.
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Token t SET t.status = :newStatus, " +
+           "t.servedAt = COALESCE(:servedAt, t.servedAt), " +
+           "t.servedBy = COALESCE(:servedBy, t.servedBy), " +
+           "t.completedAt = COALESCE(:completedAt, t.completedAt), " +
+           "t.droppedAt = COALESCE(:droppedAt, t.droppedAt), " +
+           "t.version = t.version + 1 " +
+           "WHERE t.id = :id AND t.status IN :fromStatuses")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("fromStatuses") Collection<TokenStatus> fromStatuses,
+                         @Param("newStatus") TokenStatus newStatus,
+                         @Param("servedAt") LocalDateTime servedAt,
+                         @Param("servedBy") String servedBy,
+                         @Param("completedAt") LocalDateTime completedAt,
+                         @Param("droppedAt") LocalDateTime droppedAt);
+
+    // Claim the head of a counter's queue: locks it and skips rows another call-next
+    // already holds, so concurrent callers each get a different token
+    @Query(value = "SELECT id FROM tokens " +
+                   "WHERE counter_id = :counterId AND status = 'WAITING' AND service_date = :date " +
+                   "ORDER BY token_number LIMIT 1 FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    Optional<Long> claimNextWaitingId(@Param("counterId") Long counterId, @Param("date") LocalDate date);
+
+    // Lock the next chunk of tokens from closed days for archival,
+    // skipping rows another instance's archival run is already moving
+    @Query(value = "SELECT id FROM tokens WHERE service_date < :cutoff " +
+                   "ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<Long> lockIdsToArchive(@Param("cutoff") LocalDate cutoff, @Param("limit") int limit);
+
+    // Remove archived tokens from the hot table
+    @Modifying
+    @Query("DELETE FROM Token t WHERE t.id IN :ids")
+    int deleteByIds(@Param("ids") List<Long> ids);
 }
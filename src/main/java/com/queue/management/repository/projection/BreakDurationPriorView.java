@@ -0,0 +1,14 @@
+package com.queue.management.repository.projection;
+
+// Totals used to turn a break estimate into an expected duration
+public interface BreakDurationPriorView {
+
+    Long getBreaks();
+
+    // Sums over breaks that had an estimate
+    Long getEstimatedMinutes();
+    Long getActualMinutesWithEstimate();
+
+    // Average over all finished breaks
+    Double getAverageActualMinutes();
+}
@@ -0,0 +1,13 @@
+package com.queue.management.repository.projection;
+
+// How the waiting queue of a counter looked around one break
+public interface BreakQueueImpactView {
+
+    Long getBreakId();
+
+    // Tokens waiting when the break started
+    Long getWaitingAtStart();
+
+    // Tokens issued to the counter while it was on break
+    Long getArrivalsDuringBreak();
+}
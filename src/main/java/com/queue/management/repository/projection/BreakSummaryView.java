@@ -0,0 +1,19 @@
+package com.queue.management.repository.projection;
+
+import com.queue.management.enums.CounterName;
+
+// Per-counter totals over finished breaks in a time window
+public interface BreakSummaryView {
+
+    CounterName getCounterName();
+
+    Long getBreaks();
+
+    Long getTotalActualMinutes();
+
+    Long getTotalEstimatedMinutes();
+
+    Long getOverruns();
+
+    Long getOverrunMinutes();
+}
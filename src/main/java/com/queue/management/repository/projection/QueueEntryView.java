@@ -0,0 +1,13 @@
+package com.queue.management.repository.projection;
+
+// A token in a counter's queue with its owner, without loading Token/Student entities
+public interface QueueEntryView {
+
+    Long getTokenId();
+
+    Integer getTokenNumber();
+
+    String getTokenCode();
+
+    String getRollNumber();
+}
@@ -0,0 +1,11 @@
+package com.queue.management.repository.projection;
+
+import java.time.LocalDateTime;
+
+// When a completed token was called and finished (for average service time)
+public interface ServiceTimeView {
+
+    LocalDateTime getServedAt();
+
+    LocalDateTime getCompletedAt();
+}
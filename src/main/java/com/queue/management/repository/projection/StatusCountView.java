@@ -0,0 +1,11 @@
+package com.queue.management.repository.projection;
+
+import com.queue.management.enums.TokenStatus;
+
+// Number of a counter's tokens in one status for a day
+public interface StatusCountView {
+
+    TokenStatus getStatus();
+
+    Long getTokens();
+}
@@ -0,0 +1,30 @@
+package com.queue.management.repository.projection;
+
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.TokenStatus;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+// What a student sees of their own token, read without loading Token/Counter entities
+public interface TokenSummaryView {
+
+    Long getTokenId();
+
+    String getTokenCode();
+
+    Integer getTokenNumber();
+
+    CounterName getCounterName();
+
+    TokenStatus getStatus();
+
+    LocalDate getServiceDate();
+
+    LocalDateTime getCreatedAt();
+
+    LocalDateTime getServedAt();
+
+    LocalDateTime getCompletedAt();
+
+    Boolean getIsRescheduled();
+}
@@ -0,0 +1,64 @@
+package com.queue.management.security;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * BCrypt encoder whose cost is configured or calibrated to this machine.
+ *
+ * upgradeEncoding() reports any hash whose cost differs from the current one
+ * (in either direction), so AuthServiceImpl can rehash it on the next
+ * successful login while it still has the plain password.
+ */
+@Slf4j
+public class AdaptiveBCryptPasswordEncoder extends BCryptPasswordEncoder {
+
+    // Never calibrate below Spring's default cost or above what logins can afford
+    static final int MIN_STRENGTH = 10;
+    static final int MAX_STRENGTH = 16;
+
+    @Getter
+    private final int strength;
+
+    public AdaptiveBCryptPasswordEncoder(int strength) {
+        super(strength);
+        this.strength = strength;
+    }
+
+    // Highest cost whose hash takes at most targetMillis on this machine
+    public static AdaptiveBCryptPasswordEncoder calibrated(long targetMillis) {
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(strength).encode("calibration");
+            long millis = (System.nanoTime() - start) / 1_000_000;
+
+            // Each step doubles the cost, so stop if the next one would overshoot
+            if (millis * 2 > targetMillis) break;
+            strength++;
+        }
+        log.info("BCrypt cost calibrated to {} for a {} ms target", strength, targetMillis);
+        return new AdaptiveBCryptPasswordEncoder(strength);
+    }
+
+    // upgradeEncoding() is final and handles null/empty hashes before calling this
+    @Override
+    protected boolean upgradeEncodingNonNull(String encodedPassword) {
+        Integer cost = costOf(encodedPassword);
+        return cost != null && cost != strength;
+    }
+
+    // Cost field of a "$2a$10$..." hash, or null if not a BCrypt hash
+    private static Integer costOf(String encodedPassword) {
+        if (encodedPassword.length() < 7
+                || encodedPassword.charAt(0) != '$' || encodedPassword.charAt(3) != '$') {
+            return null;
+        }
+        try {
+            return Integer.parseInt(encodedPassword.substring(4, 6));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.queue.management.security;
+
+import com.queue.management.entity.CounterStaff;
+import com.queue.management.entity.Student;
+import com.queue.management.repository.CounterStaffRepository;
+import com.queue.management.repository.StudentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latest credential version of every user whose password has ever changed.
+ *
+ * Users that never changed their password are not tracked: their version is 0,
+ * which is what every token issued to them carries. A token whose "cv" claim is
+ * below the version known here was issued before a password change, so the
+ * filter goes back to the database for that user instead of trusting the claims.
+ *
+ * Seeded from the database at startup and updated by AuthServiceImpl on every
+ * password change/reset made by this instance.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class CredentialVersionRegistry {
+
+    private final StudentRepository studentRepository;
+    private final CounterStaffRepository counterStaffRepository;
+
+    // identifier (roll number / staff ID) → latest credential version
+    private final Map<String, Integer> versions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void init() {
+        try {
+            for (Student student : studentRepository.findByCredentialVersionGreaterThan(0)) {
+                versions.put(student.getRollNumber(), student.getCredentialVersion());
+            }
+            for (CounterStaff staff : counterStaffRepository.findByCredentialVersionGreaterThan(0)) {
+                versions.put(staff.getStaffId(), staff.getCredentialVersion());
+            }
+            log.info("Credential version registry loaded with {} users", versions.size());
+        } catch (Exception e) {
+            log.warn("Could not load credential versions: {}", e.getMessage());
+        }
+    }
+
+    // Record a new credential version (after a password change/reset)
+    public void record(String identifier, int credentialVersion) {
+        versions.merge(identifier, credentialVersion, Math::max);
+    }
+
+    // True if a token carrying this version was issued before the latest password change
+    public boolean isStale(String identifier, int tokenVersion) {
+        Integer known = versions.get(identifier);
+        return known != null && tokenVersion < known;
+    }
+}
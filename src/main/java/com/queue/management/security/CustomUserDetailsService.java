@@ -1,16 +1,25 @@
 package com.queue.management.security;
 
 import com.queue.management.entity.CounterStaff;
+import com.queue.management.entity.Principal;
 import com.queue.management.entity.Student;
 import com.queue.management.enums.UserType;
 import com.queue.management.repository.CounterStaffRepository;
 import com.queue.management.repository.StudentRepository;
+import com.queue.management.service.PrincipalDirectoryService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 
 @Service
 @RequiredArgsConstructor
@@ -19,6 +28,29 @@ public class CustomUserDetailsService implements UserDetailsService {
 
     private final StudentRepository studentRepository;
     private final CounterStaffRepository counterStaffRepository;
+    private final PrincipalDirectoryService principalDirectoryService;
+    private final MeterRegistry meterRegistry;
+
+    // Most users kept in memory at once (0 disables the cache)
+    @Value("${app.security.user-cache.max-size:1000}")
+    private int cacheMaxSize;
+
+    // How long a loaded user is reused before going back to the database
+    @Value("${app.security.user-cache.ttl-seconds:300}")
+    private long cacheTtlSeconds;
+
+    // Bounded, expiring and lock-free on reads; hit/miss/eviction stats under cache.* (cache=auth.user_cache)
+    private Cache<String, SecurityUser> cache;
+
+    @PostConstruct
+    void initCache() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(Duration.ofSeconds(cacheTtlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.user_cache");
+    }
 
     // Spring Security calls this method to load user
     // username = roll number OR staff ID
@@ -26,18 +58,52 @@ public class CustomUserDetailsService implements UserDetailsService {
     public UserDetails loadUserByUsername(String username)
             throws UsernameNotFoundException {
 
-        // First try to find as student
+        // Loaded once per user even under concurrent requests
+        return cache.get(username, this::loadFromDatabase);
+    }
+
+    // Drop a cached user after their password or profile changed
+    public void evict(String username) {
+        cache.invalidate(username);
+    }
+
+    private SecurityUser loadFromDatabase(String username) {
+
+        // One indexed lookup in the unified directory
+        Principal principal = principalDirectoryService
+                .findByIdentifier(username)
+                .orElse(null);
+
+        if (principal != null) {
+            log.debug("Found {}: {}", principal.getUserType(), username);
+            return new SecurityUser(
+                    principal.getIdentifier(),
+                    principal.getPassword(),
+                    principal.getUserType(),
+                    principal.getName(),
+                    null,
+                    principal.getCredentialVersion(),
+                    null
+            );
+        }
+
+        // Not in the directory yet (e.g. inserted by SQL after startup):
+        // first try to find as student
         Student student = studentRepository
-                .findByRollNumber(username)
+                .findFreshByRollNumber(username)
                 .orElse(null);
 
         if (student != null) {
             log.debug("Found student: {}", username);
+            principalDirectoryService.syncStudent(student);
             return new SecurityUser(
                     student.getRollNumber(),
                     student.getPassword(),
                     UserType.STUDENT,
-                    student.getName()
+                    student.getName(),
+                    null,
+                    student.getCredentialVersion(),
+                    null
             );
         }
 
@@ -48,11 +114,15 @@ public class CustomUserDetailsService implements UserDetailsService {
 
         if (staff != null) {
             log.debug("Found counter staff: {}", username);
+            principalDirectoryService.syncStaff(staff);
             return new SecurityUser(
                     staff.getStaffId(),
                     staff.getPassword(),
                     UserType.COUNTER_STAFF,
-                    staff.getName()
+                    staff.getName(),
+                    null,
+                    staff.getCredentialVersion(),
+                    null
             );
         }
 
@@ -62,4 +132,4 @@ public class CustomUserDetailsService implements UserDetailsService {
                 "User not found with identifier: " + username
         );
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,14 @@ package com.queue.management.security;
 
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.UserType;
+import com.queue.management.service.TokenRevocationService;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -24,6 +26,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenProvider jwtTokenProvider;
     private final CustomUserDetailsService userDetailsService;
+    private final CredentialVersionRegistry credentialVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    // claims   → trust signed claims, hit the database only after a password change
+    // database → load the user from the database on every request
+    @Value("${app.security.auth-mode:claims}")
+    private String authMode;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
@@ -35,48 +44,48 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Step 1: Extract JWT token from request header
             String token = extractTokenFromRequest(request);
 
-            // Step 2: Validate token
-            if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-
-                // Step 3: Get username from token
-                String username = jwtTokenProvider.getUsernameFromToken(token);
-
-                // Step 4: Load user details from database
-                UserDetails userDetails = userDetailsService
-                        .loadUserByUsername(username);
-
-                // Step 4b: For counter staff, copy assignedCounter from JWT
-                if (userDetails instanceof SecurityUser securityUser
-                        && securityUser.getUserType() == UserType.COUNTER_STAFF) {
-                    CounterName assignedCounter =
-                            jwtTokenProvider.getAssignedCounterFromToken(token);
-                    userDetails = new SecurityUser(
-                            securityUser.getUsername(),
-                            securityUser.getPassword(),
-                            securityUser.getUserType(),
-                            securityUser.getName(),
-                            assignedCounter
-                    );
-                }
+            // Step 2: Verify token once and read all claims from it
+            JwtClaims claims = StringUtils.hasText(token)
+                    ? jwtTokenProvider.parseToken(token).orElse(null)
+                    : null;
+
+            // Step 2b: Drop tokens revoked by logout or password reset (in-memory check)
+            if (claims != null && tokenRevocationService.isRevoked(claims)) {
+                log.debug("Rejected revoked token for {}", claims.getUsername());
+                claims = null;
+            }
+
+            if (claims != null) {
 
-                // Step 5: Create authentication object
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(
-                                userDetails,
-                                null,
-                                userDetails.getAuthorities()
-                        );
+                // Step 3: Get username from claims
+                String username = claims.getUsername();
 
-                authentication.setDetails(
-                        new WebAuthenticationDetailsSource()
-                                .buildDetails(request)
-                );
+                // Step 4: Build the user from claims, or from the database when required
+                UserDetails userDetails = resolveUser(claims);
 
-                // Step 6: Set authentication in security context
-                SecurityContextHolder.getContext()
-                        .setAuthentication(authentication);
+                if (userDetails == null) {
+                    log.warn("Rejected token for {}: issued before the last password change", username);
+                } else {
 
-                log.debug("Authenticated user: {}", username);
+                    // Step 5: Create authentication object
+                    UsernamePasswordAuthenticationToken authentication =
+                            new UsernamePasswordAuthenticationToken(
+                                    userDetails,
+                                    null,
+                                    userDetails.getAuthorities()
+                            );
+
+                    authentication.setDetails(
+                            new WebAuthenticationDetailsSource()
+                                    .buildDetails(request)
+                    );
+
+                    // Step 6: Set authentication in security context
+                    SecurityContextHolder.getContext()
+                            .setAuthentication(authentication);
+
+                    log.debug("Authenticated user: {}", username);
+                }
             }
 
         } catch (Exception e) {
@@ -87,6 +96,55 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    // Returns null when the token predates the user's current credentials
+    private UserDetails resolveUser(JwtClaims claims) {
+        String username = claims.getUsername();
+
+        boolean claimsOnly = "claims".equalsIgnoreCase(authMode)
+                && claims.getUserType() != null
+                && !credentialVersionRegistry.isStale(username, claims.getCredentialVersion())
+                && !tokenRevocationService.isIssuedInRevocationSecond(claims);
+
+        if (claimsOnly) {
+            return SecurityUser.fromClaims(claims);
+        }
+
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        if (!(userDetails instanceof SecurityUser securityUser)) {
+            return userDetails;
+        }
+
+        // A token newer than the cached user means the password changed on another
+        // instance: reload once instead of rejecting valid tokens until the entry expires
+        if (claims.getCredentialVersion() > securityUser.getCredentialVersion()) {
+            userDetailsService.evict(username);
+            userDetails = userDetailsService.loadUserByUsername(username);
+            if (!(userDetails instanceof SecurityUser reloaded)) {
+                return userDetails;
+            }
+            securityUser = reloaded;
+        }
+
+        if (securityUser.getCredentialVersion() != claims.getCredentialVersion()) {
+            credentialVersionRegistry.record(username, securityUser.getCredentialVersion());
+            return null;
+        }
+
+        // For counter staff, copy assignedCounter from JWT
+        CounterName assignedCounter =
+                securityUser.getUserType() == UserType.COUNTER_STAFF
+                        ? claims.getAssignedCounter()
+                        : null;
+        return new SecurityUser(
+                securityUser.getUsername(),
+                securityUser.getPassword(),
+                securityUser.getUserType(),
+                securityUser.getName(),
+                assignedCounter,
+                claims
+        );
+    }
+
     // Extract Bearer token from Authorization header
     private String extractTokenFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader("Authorization");
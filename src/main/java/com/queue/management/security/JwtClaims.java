@@ -0,0 +1,37 @@
+package com.queue.management.security;
+
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.UserType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import java.util.Date;
+
+// Claims of a JWT whose signature and expiry were verified once per request
+@Getter
+@Builder
+@AllArgsConstructor
+public class JwtClaims {
+
+    // "jti" - unique ID of this token, used for revocation
+    private final String tokenId;
+
+    // Roll number for student, staff ID for staff
+    private final String username;
+
+    // STUDENT or COUNTER_STAFF
+    private final UserType userType;
+
+    // Full name of the user
+    private final String name;
+
+    // Only for COUNTER_STAFF - counter chosen at login
+    private final CounterName assignedCounter;
+
+    // Password generation the token was issued for (see CredentialVersionRegistry)
+    private final int credentialVersion;
+
+    private final Date issuedAt;
+
+    private final Date expiration;
+}
@@ -0,0 +1,153 @@
+package com.queue.management.security;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import java.math.BigInteger;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EC P-256 (ES256) keys used to sign and verify JWTs, identified by "kid".
+ *
+ * The ring comes from configuration only, so every instance and every restart
+ * sees the same keys. jwt.ec.private-key / jwt.ec.public-key is the key that
+ * signs new tokens; an instance with only the public key verifies but cannot sign.
+ * jwt.ec.previous-public-keys lists keys that were rotated out and still verify.
+ *
+ * Rotating: deploy a new key pair and move the old public key to
+ * previous-public-keys; remove it from there once jwt.expiration has passed.
+ * Public halves are published through the JWKS endpoint for other verifiers.
+ *
+ * Without any configured key one is generated at startup. That only suits a
+ * single instance, and its tokens do not survive a restart.
+ */
+@Component
+@Slf4j
+public class JwtKeyRing {
+
+    // privateKey is null for verify-only keys
+    public record SigningKey(String kid, PrivateKey privateKey, ECPublicKey publicKey) {
+
+        boolean canSign() {
+            return privateKey != null;
+        }
+    }
+
+    // Base64 PKCS#8 private key / X.509 public key of the current signing key
+    @Value("${jwt.ec.private-key:}")
+    private String privateKeyConfig;
+
+    @Value("${jwt.ec.public-key:}")
+    private String publicKeyConfig;
+
+    // Comma-separated base64 X.509 public keys that were rotated out (verify only)
+    @Value("${jwt.ec.previous-public-keys:}")
+    private String previousPublicKeysConfig;
+
+    // Current key first
+    private List<SigningKey> keys = List.of();
+
+    @PostConstruct
+    void init() {
+        try {
+            KeyFactory factory = KeyFactory.getInstance("EC");
+            List<SigningKey> loaded = new ArrayList<>();
+
+            if (StringUtils.hasText(publicKeyConfig)) {
+                ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(publicKeyConfig.trim())));
+                PrivateKey privateKey = StringUtils.hasText(privateKeyConfig)
+                        ? factory.generatePrivate(
+                                new PKCS8EncodedKeySpec(Base64.getDecoder().decode(privateKeyConfig.trim())))
+                        : null;
+                loaded.add(new SigningKey(kidOf(publicKey), privateKey, publicKey));
+                log.info("JWT EC key loaded from configuration ({})", privateKey != null ? "signing" : "verify only");
+            } else {
+                KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+                generator.initialize(new ECGenParameterSpec("secp256r1"));
+                KeyPair pair = generator.generateKeyPair();
+                ECPublicKey publicKey = (ECPublicKey) pair.getPublic();
+                loaded.add(new SigningKey(kidOf(publicKey), pair.getPrivate(), publicKey));
+                log.warn("No jwt.ec.public-key configured; generated a JWT EC key for this instance only");
+            }
+
+            for (String encoded : StringUtils.commaDelimitedListToStringArray(previousPublicKeysConfig)) {
+                if (!StringUtils.hasText(encoded)) continue;
+                ECPublicKey publicKey = (ECPublicKey) factory.generatePublic(
+                        new X509EncodedKeySpec(Base64.getDecoder().decode(encoded.trim())));
+                loaded.add(new SigningKey(kidOf(publicKey), null, publicKey));
+            }
+
+            keys = List.copyOf(loaded);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not initialise JWT key ring", e);
+        }
+    }
+
+    // Key that signs new tokens; fails on a verify-only instance
+    public SigningKey getActiveKey() {
+        SigningKey key = keys.get(0);
+        if (!key.canSign()) {
+            throw new IllegalStateException("This instance has no jwt.ec.private-key and cannot sign tokens");
+        }
+        return key;
+    }
+
+    // Key for a kid, or null if unknown
+    public SigningKey findKey(String kid) {
+        for (SigningKey key : keys) {
+            if (key.kid().equals(kid)) return key;
+        }
+        return null;
+    }
+
+    // Public JWK Set (RFC 7517) of every configured key
+    public Map<String, Object> toJwks() {
+        List<Map<String, Object>> jwks = new ArrayList<>();
+        for (SigningKey key : keys) {
+            Map<String, Object> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", key.kid());
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwk.put("x", coordinate(key.publicKey().getW().getAffineX()));
+            jwk.put("y", coordinate(key.publicKey().getW().getAffineY()));
+            jwks.add(jwk);
+        }
+        return Map.of("keys", jwks);
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    // Stable kid: first 16 chars of the base64url SHA-256 of the encoded public key
+    private static String kidOf(PublicKey publicKey) throws Exception {
+        byte[] digest = MessageDigest.getInstance("SHA-256").digest(publicKey.getEncoded());
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 16);
+    }
+
+    // Unsigned big-endian, left-padded to 32 bytes, base64url
+    private static String coordinate(BigInteger value) {
+        byte[] raw = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(raw.length, 32);
+        System.arraycopy(raw, raw.length - length, fixed, 32 - length, length);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(fixed);
+    }
+}
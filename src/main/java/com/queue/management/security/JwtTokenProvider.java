@@ -3,48 +3,124 @@ package com.queue.management.security;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.UserType;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Header;
+import io.jsonwebtoken.JwtBuilder;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.ProtectedHeader;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class JwtTokenProvider {
 
-    @Value("${jwt.secret}")
+    // Only needed while HS* tokens are signed or accepted
+    @Value("${jwt.secret:}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
 
-    // Generate signing key from secret
+    // HS512 = sign with the shared secret, ES256 = sign with the EC key ring
+    @Value("${jwt.algorithm:HS512}")
+    private String algorithm;
+
+    // ES256 mode only: keep accepting HS* tokens signed with jwt.secret.
+    // Meant for the switch from HS512, for one token lifetime; off by default so
+    // ES256 verifiers hold no key that can mint tokens.
+    @Value("${jwt.accept-hs:false}")
+    private boolean acceptHs;
+
+    private final JwtKeyRing keyRing;
+
+    // Built once from the secret; every token sign/verify reuses them
+    private SecretKey signingKey;
+    private JwtParser jwtParser;
+
+    @PostConstruct
+    void init() {
+        boolean hmac = usesHmac();
+        if (hmac && !StringUtils.hasText(jwtSecret)) {
+            throw new IllegalStateException(
+                    "jwt.secret is required with jwt.algorithm=HS512 or jwt.accept-hs=true");
+        }
+        SecretKey key = hmac ? Keys.hmacShaKeyFor(jwtSecret.getBytes()) : null;
+
+        // ES256 tokens verify with the key named by their kid. HS* tokens verify with the
+        // secret in HS512 mode, and in ES256 mode only while jwt.accept-hs is on.
+        this.jwtParser = Jwts.parser()
+                .keyLocator(header -> locateKey(header, key))
+                .build();
+        this.signingKey = key;
+        log.info("JWT keys loaded (algorithm {}, HS tokens {})", algorithm, hmac ? "accepted" : "rejected");
+    }
+
+    private boolean usesHmac() {
+        return !"ES256".equalsIgnoreCase(algorithm) || acceptHs;
+    }
+
     private SecretKey getSigningKey() {
-        byte[] keyBytes = jwtSecret.getBytes();
-        return Keys.hmacShaKeyFor(keyBytes);
+        return signingKey;
+    }
+
+    private Key locateKey(Header header, SecretKey hmacKey) {
+        String alg = header.getAlgorithm();
+        if (alg != null && alg.startsWith("HS")) {
+            if (hmacKey == null) {
+                throw new JwtException("HS tokens are not accepted (jwt.accept-hs=false)");
+            }
+            return hmacKey;
+        }
+
+        String kid = header instanceof ProtectedHeader protectedHeader
+                ? protectedHeader.getKeyId()
+                : null;
+        JwtKeyRing.SigningKey signingKey = kid != null ? keyRing.findKey(kid) : null;
+        if (signingKey == null) {
+            throw new JwtException("Unknown or expired signing key: " + kid);
+        }
+        return signingKey.publicKey();
+    }
+
+    // Public keys for verifiers that do not hold the signing key
+    public Map<String, Object> getJwks() {
+        return keyRing.toJwks();
     }
 
     // Generate JWT token for STUDENT
-    public String generateTokenForStudent(String rollNumber, String name) {
+    public String generateTokenForStudent(String rollNumber, String name, int credentialVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userType", UserType.STUDENT.name());
         claims.put("name", name);
+        claims.put("cv", credentialVersion);
         return buildToken(claims, rollNumber);
     }
 
     // Generate JWT token for COUNTER STAFF
     public String generateTokenForStaff(String staffId,
                                         String name,
-                                        CounterName assignedCounter) {
+                                        CounterName assignedCounter,
+                                        int credentialVersion) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("userType", UserType.COUNTER_STAFF.name());
         claims.put("name", name);
         claims.put("assignedCounter", assignedCounter.name());
+        claims.put("cv", credentialVersion);
         return buildToken(claims, staffId);
     }
 
@@ -53,13 +129,47 @@ public class JwtTokenProvider {
         Date now = new Date();
         Date expiry = new Date(now.getTime() + jwtExpiration);
 
-        return Jwts.builder()
+        JwtBuilder builder = Jwts.builder()
                 .claims(claims)
+                .id(UUID.randomUUID().toString())
                 .subject(subject)
                 .issuedAt(now)
-                .expiration(expiry)
-                .signWith(getSigningKey())
-                .compact();
+                .expiration(expiry);
+
+        if ("ES256".equalsIgnoreCase(algorithm)) {
+            JwtKeyRing.SigningKey key = keyRing.getActiveKey();
+            builder.header().keyId(key.kid()).and()
+                    .signWith(key.privateKey(), Jwts.SIG.ES256);
+        } else {
+            builder.signWith(getSigningKey());
+        }
+        return builder.compact();
+    }
+
+    // Verify the token once and read every claim we use
+    // Returns empty if the signature, format or expiry is invalid
+    public Optional<JwtClaims> parseToken(String token) {
+        try {
+            Claims claims = getClaims(token);
+            String userType = claims.get("userType", String.class);
+            String counter = claims.get("assignedCounter", String.class);
+            // Tokens issued before credential versions existed count as version 0
+            Integer credentialVersion = claims.get("cv", Integer.class);
+
+            return Optional.of(JwtClaims.builder()
+                    .tokenId(claims.getId())
+                    .username(claims.getSubject())
+                    .userType(userType != null ? UserType.valueOf(userType) : null)
+                    .name(claims.get("name", String.class))
+                    .assignedCounter(counter != null ? CounterName.valueOf(counter) : null)
+                    .credentialVersion(credentialVersion != null ? credentialVersion : 0)
+                    .issuedAt(claims.getIssuedAt())
+                    .expiration(claims.getExpiration())
+                    .build());
+        } catch (Exception e) {
+            log.error("Invalid JWT token: {}", e.getMessage());
+            return Optional.empty();
+        }
     }
 
     // Extract username from token
@@ -104,9 +214,7 @@ public class JwtTokenProvider {
 
     // Get all claims from token (NEW 0.12.x API)
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
+        return jwtParser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -0,0 +1,180 @@
+package com.queue.management.security;
+
+import com.queue.management.config.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token-bucket rate limiting per principal or client IP.
+ *
+ * Runs after JwtAuthenticationFilter so the principal is known. Each bucket is
+ * a single AtomicLong holding its theoretical arrival time (GCRA, equivalent to
+ * a token bucket), updated with CAS - no locks on the request path.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    // "ruleIndex|key" → bucket
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+
+    // Rejections per rule pattern
+    private final Map<String, Counter> rejections = new ConcurrentHashMap<>();
+
+    private static final class Bucket {
+        final AtomicLong theoreticalArrival = new AtomicLong();
+        volatile long lastSeen;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!properties.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        int ruleIndex = findRule(request);
+        if (ruleIndex < 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RateLimitProperties.Rule rule = properties.getRules().get(ruleIndex);
+        Bucket bucket = bucketFor(ruleIndex + "|" + clientKey(rule, request));
+
+        long waitNanos = bucket != null ? tryAcquire(bucket.theoreticalArrival, rule, System.nanoTime()) : 0;
+        if (waitNanos > 0) {
+            reject(rule, response, waitNanos);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    // Drop buckets that have been idle long enough to be full again anyway
+    @Scheduled(fixedDelay = 60, timeUnit = TimeUnit.SECONDS)
+    public void evictIdleBuckets() {
+        long cutoff = System.nanoTime() - TimeUnit.SECONDS.toNanos(properties.getIdleSeconds());
+        buckets.values().removeIf(bucket -> bucket.lastSeen < cutoff);
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private int findRule(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (int i = 0; i < properties.getRules().size(); i++) {
+            RateLimitProperties.Rule rule = properties.getRules().get(i);
+            if (StringUtils.hasText(rule.getMethod())
+                    && !rule.getMethod().equalsIgnoreCase(request.getMethod())) {
+                continue;
+            }
+            if (pathMatcher.match(rule.getPattern(), path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String clientKey(RateLimitProperties.Rule rule, HttpServletRequest request) {
+        if ("PRINCIPAL".equalsIgnoreCase(rule.getKey())) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof SecurityUser user) {
+                return "u:" + user.getUsername();
+            }
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    // Null when memory is full - the request is let through rather than blocked
+    private Bucket bucketFor(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets()) {
+                evictIdleBuckets();
+                if (buckets.size() >= properties.getMaxBuckets()) {
+                    log.warn("Rate limit bucket table full ({}), not limiting {}", buckets.size(), key);
+                    return null;
+                }
+            }
+            bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+        }
+        bucket.lastSeen = System.nanoTime();
+        return bucket;
+    }
+
+    // Returns 0 if a token was taken at time now (System.nanoTime), otherwise nanoseconds
+    // until one is available
+    static long tryAcquire(AtomicLong theoreticalArrival, RateLimitProperties.Rule rule, long now) {
+        long interval = (long) (1_000_000_000L / rule.getRefillPerSecond());
+        long burst = interval * rule.getCapacity();
+
+        while (true) {
+            long current = theoreticalArrival.get();
+            long tat = current == 0 || current - now < 0 ? now : current;
+            long next = tat + interval;
+
+            long wait = next - burst - now;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private void reject(RateLimitProperties.Rule rule,
+                        HttpServletResponse response,
+                        long waitNanos) throws IOException {
+
+        rejections.computeIfAbsent(rule.getPattern(), pattern -> Counter
+                .builder("http.rate_limit.rejections")
+                .tag("rule", pattern)
+                .description("Requests rejected by the rate limiter")
+                .register(meterRegistry)).increment();
+
+        long retryAfterSeconds = Math.max(1, (waitNanos + 999_999_999L) / 1_000_000_000L);
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        // Same shape as ApiResponse.error(...), written by hand to stay off the JSON mapper
+        response.getWriter().write("{\"success\":false,"
+                + "\"message\":\"Too many requests. Please retry in " + retryAfterSeconds + " seconds.\","
+                + "\"data\":null,"
+                + "\"timestamp\":\"" + LocalDateTime.now() + "\"}");
+    }
+}
@@ -1,6 +1,7 @@
 package com.queue.management.security;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -9,7 +10,6 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,6 +21,15 @@ public class SecurityConfig {
 
     private final CustomUserDetailsService userDetailsService;
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+
+    // BCrypt cost factor (each +1 doubles hashing time)
+    @Value("${app.security.bcrypt.strength:10}")
+    private int bcryptStrength;
+
+    // When > 0, pick the highest cost that hashes within this many ms instead
+    @Value("${app.security.bcrypt.target-millis:0}")
+    private long bcryptTargetMillis;
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
@@ -43,6 +52,9 @@ public class SecurityConfig {
                 
                 // Counter staff endpoints
                 .requestMatchers("/api/counter/**").hasRole("COUNTER_STAFF")
+
+                // Operational endpoints
+                .requestMatchers("/actuator/hibernatecache").hasRole("COUNTER_STAFF")
                 
                 // Everything else needs auth
                 .anyRequest().authenticated()
@@ -64,6 +76,12 @@ public class SecurityConfig {
                 jwtAuthenticationFilter,
                 UsernamePasswordAuthenticationFilter.class
             )
+
+            // Rate limit once the principal is known
+            .addFilterAfter(
+                rateLimitFilter,
+                JwtAuthenticationFilter.class
+            )
             
             // Set custom user details service
             .userDetailsService(userDetailsService);
@@ -73,7 +91,11 @@ public class SecurityConfig {
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        // A target time wins over a fixed cost; stored hashes are migrated on login
+        if (bcryptTargetMillis > 0) {
+            return AdaptiveBCryptPasswordEncoder.calibrated(bcryptTargetMillis);
+        }
+        return new AdaptiveBCryptPasswordEncoder(bcryptStrength);
     }
 
     @Bean
@@ -15,7 +15,7 @@ public class SecurityUser implements UserDetails {
     // Username (roll number for student, staff ID for staff)
     private final String username;
 
-    // Hashed password
+    // Hashed password (null when built from JWT claims only)
     private final String password;
 
     // Who is this? STUDENT or COUNTER_STAFF
@@ -27,16 +27,18 @@ public class SecurityUser implements UserDetails {
     // Full name of the user
     private final String name;
 
+    // Password generation (see CredentialVersionRegistry)
+    private final int credentialVersion;
+
+    // Verified JWT claims of the current request (null when not authenticated by JWT)
+    private final JwtClaims claims;
+
     // Constructor for STUDENT
     public SecurityUser(String username,
                        String password,
                        UserType userType,
                        String name) {
-        this.username = username;
-        this.password = password;
-        this.userType = userType;
-        this.name = name;
-        this.assignedCounter = null;
+        this(username, password, userType, name, null, 0, null);
     }
 
     // Constructor for COUNTER_STAFF
@@ -45,11 +47,46 @@ public class SecurityUser implements UserDetails {
                        UserType userType,
                        String name,
                        CounterName assignedCounter) {
+        this(username, password, userType, name, assignedCounter, 0, null);
+    }
+
+    // Constructor for a request authenticated by JWT
+    public SecurityUser(String username,
+                       String password,
+                       UserType userType,
+                       String name,
+                       CounterName assignedCounter,
+                       JwtClaims claims) {
+        this(username, password, userType, name, assignedCounter,
+                claims != null ? claims.getCredentialVersion() : 0, claims);
+    }
+
+    public SecurityUser(String username,
+                       String password,
+                       UserType userType,
+                       String name,
+                       CounterName assignedCounter,
+                       int credentialVersion,
+                       JwtClaims claims) {
         this.username = username;
         this.password = password;
         this.userType = userType;
         this.name = name;
         this.assignedCounter = assignedCounter;
+        this.credentialVersion = credentialVersion;
+        this.claims = claims;
+    }
+
+    // Built from signed claims alone, without touching the database
+    public static SecurityUser fromClaims(JwtClaims claims) {
+        return new SecurityUser(
+                claims.getUsername(),
+                null,
+                claims.getUserType(),
+                claims.getName(),
+                claims.getUserType() == UserType.COUNTER_STAFF ? claims.getAssignedCounter() : null,
+                claims
+        );
     }
 
     @Override
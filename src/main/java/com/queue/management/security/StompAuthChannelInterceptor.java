@@ -0,0 +1,96 @@
+package com.queue.management.security;
+
+import com.queue.management.service.TokenRevocationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.MessageDeliveryException;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Authenticates STOMP sessions with the same JWT as the REST API.
+ *
+ * The token is sent once, in the CONNECT frame's "Authorization: Bearer ..."
+ * header, and the resulting principal is bound to the session, so
+ * convertAndSendToUser(rollNumber, ...) reaches only that student's sessions.
+ * Connections without a token stay anonymous and may only use the public
+ * counter topics.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+
+    private static final String USER_QUEUE_PREFIX = "/user/queue/";
+    private static final String BROKER_QUEUE_PREFIX = "/queue/";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationService tokenRevocationService;
+    private final CredentialVersionRegistry credentialVersionRegistry;
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor =
+                MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() == null) {
+            return message;
+        }
+
+        if (accessor.getCommand() == StompCommand.CONNECT) {
+            authenticate(accessor);
+        } else if (accessor.getCommand() == StompCommand.SUBSCRIBE) {
+            checkSubscription(accessor);
+        }
+        return message;
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private void authenticate(StompHeaderAccessor accessor) {
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (!StringUtils.hasText(header)) {
+            return;
+        }
+        if (!header.startsWith("Bearer ")) {
+            throw new MessageDeliveryException("Invalid Authorization header on CONNECT");
+        }
+
+        JwtClaims claims = jwtTokenProvider.parseToken(header.substring(7)).orElse(null);
+        if (claims == null || claims.getUserType() == null
+                || tokenRevocationService.isRevoked(claims)
+                || credentialVersionRegistry.isStale(claims.getUsername(), claims.getCredentialVersion())) {
+            throw new MessageDeliveryException("Invalid or expired token on CONNECT");
+        }
+
+        SecurityUser user = SecurityUser.fromClaims(claims);
+        accessor.setUser(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        log.debug("STOMP session authenticated: {}", user.getUsername());
+    }
+
+    private void checkSubscription(StompHeaderAccessor accessor) {
+        String destination = accessor.getDestination();
+        if (destination == null) {
+            return;
+        }
+
+        // Personal messages are only delivered through the user destination
+        if (destination.startsWith("/topic/student/")) {
+            throw new MessageDeliveryException("Subscribe to /user/queue/notifications instead");
+        }
+        // The broker also serves the resolved /queue/...-user<session> names; frames from
+        // clients arrive here before resolution, so a raw /queue/ subscription bypasses /user
+        if (destination.startsWith(BROKER_QUEUE_PREFIX)) {
+            throw new MessageDeliveryException("Subscribe to /user" + destination + " instead");
+        }
+        if (destination.startsWith(USER_QUEUE_PREFIX) && accessor.getUser() == null) {
+            throw new MessageDeliveryException("Authentication required for " + destination);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.queue.management.service;
+
+import com.queue.management.dto.response.ArrivalForecastResponse;
+import com.queue.management.enums.CounterName;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface ArrivalForecastService {
+
+    // Learn from a newly issued token (online update, applied after the transaction commits)
+    void recordArrival(CounterName counterName, LocalDateTime createdAt);
+
+    // Forecast arrivals per 15-minute slot for a counter on a date
+    // Learned per weekday from historical tokens.created_at
+    ArrivalForecastResponse getForecast(CounterName counterName, LocalDate date);
+
+    // Warn when a counter is expected to exhaust its daily limit today
+    void checkDailyLimits();
+}
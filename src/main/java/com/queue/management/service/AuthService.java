@@ -4,6 +4,8 @@ import com.queue.management.dto.response.ProfileResponse;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.UserType;
 
+import java.util.concurrent.CompletableFuture;
+
 public interface AuthService {
 
     // Register a new student
@@ -12,6 +14,9 @@ public interface AuthService {
     // Login for both student and counter staff - returns JWT token
     String login(String identifier, String password, UserType userType, CounterName selectedCounter);
 
+    // Same as login, but password hashing runs on the bounded login executor
+    CompletableFuture<String> loginAsync(String identifier, String password, UserType userType, CounterName selectedCounter);
+
     // Send password reset email
     void sendPasswordResetEmail(String email);
 
@@ -0,0 +1,15 @@
+package com.queue.management.service;
+
+import com.queue.management.dto.response.BreakAnalyticsResponse;
+import java.time.LocalDate;
+
+public interface BreakAnalyticsService {
+
+    // Break analytics for a day: actual vs estimated, overruns, queue growth
+    // Closed days are cached since their breaks can no longer change
+    BreakAnalyticsResponse getBreakAnalytics(LocalDate date);
+
+    // Expected real length of a break announced with the given estimate
+    // Learned from recent actual vs estimated durations
+    double getExpectedBreakMinutes(Integer estimatedDuration);
+}
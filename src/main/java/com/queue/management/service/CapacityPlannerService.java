@@ -0,0 +1,15 @@
+package com.queue.management.service;
+
+import com.queue.management.dto.response.CapacityPlanResponse;
+import java.time.LocalDate;
+
+public interface CapacityPlannerService {
+
+    // Plan counters and daily limits for a day using an M/M/c (Erlang C) model
+    // Arrival rate comes from the arrival forecast, service rate from statistics
+    // Target: at least targetServiceLevel of students wait no more than targetWaitMinutes
+    CapacityPlanResponse plan(LocalDate date,
+                              double targetWaitMinutes,
+                              double targetServiceLevel,
+                              int maxCounters);
+}
@@ -0,0 +1,58 @@
+package com.queue.management.service;
+
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.CounterStatus;
+import java.time.LocalDateTime;
+
+/**
+ * In-memory view of the service counters, so hot paths don't query them.
+ *
+ * Holds one immutable snapshot per counter. CounterServiceImpl publishes a
+ * CounterChangedEvent whenever it saves a counter (break, status, daily limit,
+ * close) and the registry applies it once the transaction commits. A periodic
+ * resync picks up changes made by other instances or directly in the database.
+ */
+public interface CounterRegistry {
+
+    // Immutable copy of a ServiceCounter row
+    record CounterSnapshot(Long id,
+                           CounterName name,
+                           CounterStatus status,
+                           int dailyLimit,
+                           LocalDateTime breakStartedAt,
+                           String breakReason,
+                           Integer estimatedBreakDuration) {
+
+        public static CounterSnapshot of(ServiceCounter counter) {
+            return new CounterSnapshot(
+                counter.getId(),
+                counter.getName(),
+                counter.getStatus(),
+                counter.getDailyLimit(),
+                counter.getBreakStartedAt(),
+                counter.getBreakReason(),
+                counter.getEstimatedBreakDuration()
+            );
+        }
+
+        public boolean isActive() {
+            return status == CounterStatus.ACTIVE;
+        }
+    }
+
+    // Published after a counter was saved; applied to the registry after commit
+    record CounterChangedEvent(CounterSnapshot snapshot) {}
+
+    // Current snapshot of a counter (throws if the counter does not exist)
+    CounterSnapshot get(CounterName counterName);
+
+    // Snapshot by database id, or null if unknown
+    CounterSnapshot findById(Long id);
+
+    // Unloaded ServiceCounter reference for query parameters and associations (no SELECT)
+    ServiceCounter reference(CounterName counterName);
+
+    // Reload every counter from the database
+    void resync();
+}
@@ -0,0 +1,14 @@
+package com.queue.management.service;
+
+import java.util.function.IntPredicate;
+
+public interface CounterSelectionPolicy {
+
+    // Pick the counter for a new token
+    // Counters are identified by index (CounterName ordinal in production,
+    // 0..n-1 in the simulator) so the same policy runs in both places
+    // lastUsed = index that received the previous token today (-1 if none)
+    // accepting = can the counter take a token right now (status + daily limit)
+    // Returns -1 when no counter is accepting
+    int select(int counterCount, int lastUsed, IntPredicate accepting);
+}
@@ -4,6 +4,8 @@ import com.queue.management.dto.response.TokenNotification;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.TokenStatus;
 
+import java.util.Map;
+
 public interface NotificationService {
 
     /**
@@ -20,8 +22,16 @@ public interface NotificationService {
     );
 
     /**
-     * Send a personal notification to a specific student's topic /topic/student/{rollNumber}.
+     * Send a personal notification to the student's own sessions on /user/queue/notifications.
+     * Only sessions that authenticated as this roll number on STOMP CONNECT receive it.
      * Used for position alerts, your-turn, break/resume alerts.
      */
     void notifyStudent(String rollNumber, TokenNotification notification);
+
+    /**
+     * Send personal notifications to many students at once (roll number → notification).
+     * Inside a transaction the whole batch goes out after commit, so nobody is told about
+     * a change that was rolled back. Used for bulk operations like closing a counter.
+     */
+    void notifyStudents(Map<String, TokenNotification> notifications);
 }
@@ -0,0 +1,29 @@
+package com.queue.management.service;
+
+import com.queue.management.entity.CounterStaff;
+import com.queue.management.entity.Principal;
+import com.queue.management.entity.Student;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface PrincipalDirectoryService {
+
+    // Student or staff by roll number / staff ID (one query)
+    Optional<Principal> findByIdentifier(String identifier);
+
+    // Accounts registered with this email (one query)
+    List<Principal> findByEmail(String email);
+
+    // Is this email used by any student or staff member (one query)
+    boolean emailExists(String email);
+
+    // Copy a student's identity fields into the directory after a write
+    void syncStudent(Student student);
+
+    // Copy a staff member's identity fields into the directory after a write
+    void syncStaff(CounterStaff staff);
+
+    // Rebuild the directory from students and counter_staff (idempotent)
+    void backfill();
+}
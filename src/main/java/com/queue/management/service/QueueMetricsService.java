@@ -0,0 +1,19 @@
+package com.queue.management.service;
+
+import com.queue.management.dto.response.QueueDepthSeriesResponse;
+import com.queue.management.enums.CounterName;
+import java.time.LocalDate;
+
+public interface QueueMetricsService {
+
+    // Take one sample (waiting count, serving token, status) for every counter
+    // Called on a fixed schedule
+    void sampleQueueDepth();
+
+    // Persist the in-memory series of a finished day and start a fresh one
+    void rollover();
+
+    // Get the queue-depth series for a counter on a date
+    // Today is served from memory, past days from the stored daily blob
+    QueueDepthSeriesResponse getQueueDepthSeries(CounterName counterName, LocalDate date);
+}
@@ -0,0 +1,11 @@
+package com.queue.management.service;
+
+import com.queue.management.dto.request.SimulationRequest;
+import com.queue.management.dto.response.SimulationResultResponse;
+
+public interface SimulationService {
+
+    // Replay a historical day through the queue rules on a virtual clock
+    // Returns the simulated wait-time distribution next to the actual one
+    SimulationResultResponse simulate(SimulationRequest request);
+}
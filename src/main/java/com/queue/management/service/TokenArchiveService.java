@@ -0,0 +1,15 @@
+package com.queue.management.service;
+
+/**
+ * Keeps the tokens table down to the days still in play.
+ *
+ * Tokens whose service date is older than app.archive.hot-days are moved to
+ * tokens_archive in small transactions, so the hot table and its indexes only
+ * ever hold about a day of traffic. History, statistics, forecasts and
+ * simulation replay read both tables.
+ */
+public interface TokenArchiveService {
+
+    // Move every token of a closed day to the archive; returns how many moved
+    int archiveClosedDays();
+}
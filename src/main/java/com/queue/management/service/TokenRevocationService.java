@@ -0,0 +1,23 @@
+package com.queue.management.service;
+
+import com.queue.management.security.JwtClaims;
+
+public interface TokenRevocationService {
+
+    // True if this token was revoked (logout) or predates a user-wide revocation
+    boolean isRevoked(JwtClaims claims);
+
+    // True if the token was issued in the same second as the user's latest user-wide
+    // revocation; only its credential version (checked against the database) tells
+    // whether it came before or after the password change
+    boolean isIssuedInRevocationSecond(JwtClaims claims);
+
+    // Revoke a single token (logout)
+    void revokeToken(JwtClaims claims);
+
+    // Revoke every token issued to this user so far (password reset/change)
+    void revokeAllForSubject(String subject);
+
+    // Drop revocations whose tokens have expired and rebuild the filter
+    void purgeExpired();
+}
@@ -16,14 +16,14 @@ public interface TokenService {
     // Cancel student's WAITING or SERVING token
     void cancelToken(String rollNumber);
 
-    // Call next WAITING token for a counter
-    TokenResponse callNextToken(CounterName counterName);
+    // Call next WAITING token for a counter; the token is bound to the calling desk (staffId)
+    TokenResponse callNextToken(CounterName counterName, String staffId);
 
-    // Mark current token as COMPLETED (auto-calls next)
-    TokenResponse completeToken(CounterName counterName);
+    // Mark this desk's current token as COMPLETED (auto-calls next for the desk)
+    TokenResponse completeToken(CounterName counterName, String staffId);
 
-    // Mark current token as DROPPED (auto-calls next)
-    TokenResponse dropToken(CounterName counterName);
+    // Mark this desk's current token as DROPPED (auto-calls next for the desk)
+    TokenResponse dropToken(CounterName counterName, String staffId);
 
     // Get position of student in queue
     int getQueuePosition(String rollNumber);
@@ -2,6 +2,7 @@ package com.queue.management.service;
 
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.TokenStatus;
+import java.util.Set;
 
 public interface ValidationService {
 
@@ -31,7 +32,15 @@ public interface ValidationService {
     // WAITING → RESCHEDULED
     boolean isValidStatusTransition(TokenStatus currentStatus, TokenStatus newStatus);
 
+    // Statuses a token may be in to move to newStatus (per isValidStatusTransition)
+    // Used as the WHERE status IN (...) guard of conditional status updates
+    Set<TokenStatus> getAllowedPredecessors(TokenStatus newStatus);
+
     // Check if it is break time
     // Break time: 2:00 PM - 2:45 PM
     boolean isBreakTime();
-}
\ No newline at end of file
+
+    // Minutes per day the counters are open for service
+    // Working hours minus the fixed break window
+    int getServiceMinutesPerDay();
+}
@@ -0,0 +1,262 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.dto.response.ArrivalForecastResponse;
+import com.queue.management.dto.response.ArrivalSlotForecast;
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.enums.CounterName;
+import com.queue.management.repository.ServiceCounterRepository;
+import com.queue.management.repository.TokenRepository;
+import com.queue.management.service.ArrivalForecastService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Learns the arrival rate per counter, weekday and 15-minute slot.
+ *
+ * Each completed day is folded into an exponentially weighted average for its
+ * weekday, so recent weeks count more than old ones. Today's arrivals are counted
+ * live and folded in at the next day change.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ArrivalForecastServiceImpl implements ArrivalForecastService {
+
+    static final int SLOT_MINUTES = 15;
+    static final int SLOTS_PER_DAY = 24 * 60 / SLOT_MINUTES;
+
+    private final TokenRepository tokenRepository;
+    private final ServiceCounterRepository counterRepository;
+
+    // Weight of the newest day in the weekday average (0-1)
+    @Value("${app.forecast.smoothing:0.3}")
+    private double smoothing;
+
+    // How many weeks of tokens to learn from at startup
+    @Value("${app.forecast.history-weeks:8}")
+    private int historyWeeks;
+
+    private final Object lock = new Object();
+
+    // [counter][weekday 0-6][slot] → smoothed arrivals per slot
+    private final double[][][] rates = new double[CounterName.values().length][7][SLOTS_PER_DAY];
+
+    // [counter][weekday] → has at least one day been learned
+    private final boolean[][] learned = new boolean[CounterName.values().length][7];
+
+    // [counter][slot] → arrivals counted so far on currentDate
+    private final int[][] todayCounts = new int[CounterName.values().length][SLOTS_PER_DAY];
+
+    private LocalDate currentDate = LocalDate.now();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void learnFromHistory() {
+        try {
+            LocalDate today = LocalDate.now();
+            List<Object[]> rows = tokenRepository.countArrivalsPerSlotSince(
+                today.minusWeeks(historyWeeks).atStartOfDay()
+            );
+
+            // Rows are ordered by day; collect one day at a time and fold it in
+            LocalDate day = null;
+            int[][] dayCounts = new int[CounterName.values().length][SLOTS_PER_DAY];
+            int days = 0;
+
+            synchronized (lock) {
+                for (Object[] row : rows) {
+                    LocalDate rowDay = LocalDate.parse((String) row[1]);
+                    if (!rowDay.equals(day)) {
+                        if (day != null && day.isBefore(today)) {
+                            foldDay(day, dayCounts);
+                            days++;
+                        }
+                        day = rowDay;
+                        dayCounts = new int[CounterName.values().length][SLOTS_PER_DAY];
+                    }
+
+                    CounterName counterName = CounterName.valueOf((String) row[0]);
+                    int slot = ((Number) row[2]).intValue();
+                    int arrivals = ((Number) row[3]).intValue();
+
+                    if (rowDay.equals(today)) {
+                        todayCounts[counterName.ordinal()][slot] = arrivals;
+                    } else {
+                        dayCounts[counterName.ordinal()][slot] = arrivals;
+                    }
+                }
+                if (day != null && day.isBefore(today)) {
+                    foldDay(day, dayCounts);
+                    days++;
+                }
+                currentDate = today;
+            }
+
+            log.info("Arrival forecast learned from {} days of history", days);
+
+        } catch (Exception e) {
+            log.error("Error learning arrival forecast from history", e);
+        }
+    }
+
+    @Override
+    public void recordArrival(CounterName counterName, LocalDateTime createdAt) {
+        // Count the token only once it is committed; a rolled-back token never arrived
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    countArrival(counterName, createdAt);
+                }
+            });
+        } else {
+            countArrival(counterName, createdAt);
+        }
+    }
+
+    private void countArrival(CounterName counterName, LocalDateTime createdAt) {
+        synchronized (lock) {
+            rollDayIfNeeded(createdAt.toLocalDate());
+            if (createdAt.toLocalDate().equals(currentDate)) {
+                todayCounts[counterName.ordinal()][slotOf(createdAt.toLocalTime())]++;
+            }
+        }
+    }
+
+    @Override
+    public ArrivalForecastResponse getForecast(CounterName counterName, LocalDate date) {
+        ServiceCounter counter = counterRepository
+            .findByName(counterName)
+            .orElseThrow(() -> new RuntimeException("Counter not found: " + counterName));
+
+        LocalDate today = LocalDate.now();
+        boolean isToday = date.equals(today);
+        int currentSlot = isToday ? slotOf(LocalTime.now()) : -1;
+        int weekday = date.getDayOfWeek().getValue() - 1;
+
+        List<ArrivalSlotForecast> slots = new ArrayList<>(SLOTS_PER_DAY);
+        int issuedSoFar = 0;
+        double projectedTotal = 0;
+        LocalTime limitReachedAt = null;
+
+        synchronized (lock) {
+            rollDayIfNeeded(today);
+
+            double[] expected = rates[counterName.ordinal()][weekday];
+            int[] actual = todayCounts[counterName.ordinal()];
+
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                Integer actualArrivals = null;
+                if (isToday && slot <= currentSlot) {
+                    actualArrivals = actual[slot];
+                    issuedSoFar += actual[slot];
+                    projectedTotal += actual[slot];
+                } else {
+                    projectedTotal += expected[slot];
+                }
+
+                if (limitReachedAt == null && projectedTotal >= counter.getDailyLimit()) {
+                    limitReachedAt = slotStart(slot);
+                }
+
+                slots.add(ArrivalSlotForecast.builder()
+                    .slotStart(slotStart(slot))
+                    .expectedArrivals(round(expected[slot]))
+                    .actualArrivals(actualArrivals)
+                    .build());
+            }
+        }
+
+        return ArrivalForecastResponse.builder()
+            .counterName(counterName)
+            .serviceDate(date)
+            .slotMinutes(SLOT_MINUTES)
+            .slots(slots)
+            .issuedSoFar(issuedSoFar)
+            .projectedTotal(round(projectedTotal))
+            .dailyLimit(counter.getDailyLimit())
+            .projectedLimitReachedAt(limitReachedAt)
+            .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${app.forecast.limit-check-cron:0 */15 * * * *}")
+    public void checkDailyLimits() {
+        LocalDate today = LocalDate.now();
+        for (CounterName counterName : CounterName.values()) {
+            try {
+                ArrivalForecastResponse forecast = getForecast(counterName, today);
+                if (forecast.getProjectedLimitReachedAt() != null
+                        && forecast.getIssuedSoFar() < forecast.getDailyLimit()) {
+                    log.warn("Counter {} is expected to reach its daily limit of {} around {} " +
+                             "({} issued so far, {} projected)",
+                        counterName, forecast.getDailyLimit(), forecast.getProjectedLimitReachedAt(),
+                        forecast.getIssuedSoFar(), forecast.getProjectedTotal());
+                }
+            } catch (Exception e) {
+                log.error("Error checking daily limit forecast for Counter {}", counterName, e);
+            }
+        }
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    // Fold the live counts into the weekday averages once the day is over
+    private void rollDayIfNeeded(LocalDate today) {
+        if (!today.isAfter(currentDate)) return;
+
+        foldDay(currentDate, todayCounts);
+        for (int[] counts : todayCounts) {
+            Arrays.fill(counts, 0);
+        }
+        currentDate = today;
+    }
+
+    private void foldDay(LocalDate day, int[][] counts) {
+        int weekday = day.getDayOfWeek().getValue() - 1;
+
+        // Skip days with no tokens at all (holidays, closed days)
+        boolean anyArrivals = false;
+        for (int[] counterCounts : counts) {
+            for (int c : counterCounts) {
+                if (c > 0) { anyArrivals = true; break; }
+            }
+        }
+        if (!anyArrivals) return;
+
+        for (int counter = 0; counter < counts.length; counter++) {
+            double[] weekdayRates = rates[counter][weekday];
+            for (int slot = 0; slot < SLOTS_PER_DAY; slot++) {
+                weekdayRates[slot] = learned[counter][weekday]
+                    ? smoothing * counts[counter][slot] + (1 - smoothing) * weekdayRates[slot]
+                    : counts[counter][slot];
+            }
+            learned[counter][weekday] = true;
+        }
+    }
+
+    private static int slotOf(LocalTime time) {
+        return (time.getHour() * 60 + time.getMinute()) / SLOT_MINUTES;
+    }
+
+    private static LocalTime slotStart(int slot) {
+        return LocalTime.of(0, 0).plusMinutes((long) slot * SLOT_MINUTES);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+}
@@ -3,24 +3,31 @@ package com.queue.management.service.impl;
 import com.queue.management.dto.response.ProfileResponse;
 import com.queue.management.entity.CounterStaff;
 import com.queue.management.entity.PasswordResetToken;
+import com.queue.management.entity.Principal;
 import com.queue.management.entity.Student;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.UserType;
 import com.queue.management.repository.CounterStaffRepository;
 import com.queue.management.repository.PasswordResetTokenRepository;
 import com.queue.management.repository.StudentRepository;
+import com.queue.management.security.CredentialVersionRegistry;
+import com.queue.management.security.CustomUserDetailsService;
 import com.queue.management.security.JwtTokenProvider;
 import com.queue.management.service.AuthService;
 import com.queue.management.service.EmailService;
+import com.queue.management.service.PrincipalDirectoryService;
+import com.queue.management.service.TokenRevocationService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -33,6 +40,11 @@ public class AuthServiceImpl implements AuthService {
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
     private final EmailService emailService;
+    private final CredentialVersionRegistry credentialVersionRegistry;
+    private final CustomUserDetailsService userDetailsService;
+    private final ThreadPoolTaskExecutor loginExecutor;
+    private final TokenRevocationService tokenRevocationService;
+    private final PrincipalDirectoryService principalDirectoryService;
 
     @Value("${app.frontend.url}")
     private String frontendUrl;
@@ -59,6 +71,7 @@ public class AuthServiceImpl implements AuthService {
                 .build();
 
         studentRepository.save(student);
+        principalDirectoryService.syncStudent(student);
         log.info("Student registered successfully: {}", rollNumber);
         return "Student registered successfully!";
     }
@@ -74,16 +87,33 @@ public class AuthServiceImpl implements AuthService {
         }
     }
 
+    @Override
+    public CompletableFuture<String> loginAsync(String identifier, String password, UserType userType, CounterName selectedCounter) {
+        return CompletableFuture.supplyAsync(
+                () -> login(identifier, password, userType, selectedCounter),
+                loginExecutor
+        );
+    }
+
     private String loginStudent(String rollNumber, String password) {
         Student student = studentRepository
-                .findByRollNumber(rollNumber)
+                .findFreshByRollNumber(rollNumber)
                 .orElseThrow(() -> new RuntimeException("Student not found with roll number: " + rollNumber));
 
         if (!passwordEncoder.matches(password, student.getPassword())) {
             throw new RuntimeException("Invalid password!");
         }
 
-        String token = jwtTokenProvider.generateTokenForStudent(student.getRollNumber(), student.getName());
+        // Move the stored hash to the current BCrypt cost while we have the password
+        if (passwordEncoder.upgradeEncoding(student.getPassword())) {
+            student.setPassword(passwordEncoder.encode(password));
+            studentRepository.save(student);
+            principalDirectoryService.syncStudent(student);
+            log.info("Password hash rehashed for student: {}", rollNumber);
+        }
+
+        String token = jwtTokenProvider.generateTokenForStudent(
+                student.getRollNumber(), student.getName(), student.getCredentialVersion());
         log.info("Student logged in: {}", rollNumber);
         return token;
     }
@@ -101,7 +131,16 @@ public class AuthServiceImpl implements AuthService {
             throw new RuntimeException("Invalid password!");
         }
 
-        String token = jwtTokenProvider.generateTokenForStaff(staff.getStaffId(), staff.getName(), selectedCounter);
+        // Move the stored hash to the current BCrypt cost while we have the password
+        if (passwordEncoder.upgradeEncoding(staff.getPassword())) {
+            staff.setPassword(passwordEncoder.encode(password));
+            counterStaffRepository.save(staff);
+            principalDirectoryService.syncStaff(staff);
+            log.info("Password hash rehashed for staff: {}", staffId);
+        }
+
+        String token = jwtTokenProvider.generateTokenForStaff(
+                staff.getStaffId(), staff.getName(), selectedCounter, staff.getCredentialVersion());
         log.info("Staff logged in: {} on Counter {}", staffId, selectedCounter);
         return token;
     }
@@ -111,10 +150,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     @Transactional
     public void sendPasswordResetEmail(String email) {
-        boolean studentExists = studentRepository.existsByEmail(email);
-        boolean staffExists   = counterStaffRepository.existsByEmail(email);
-
-        if (!studentExists && !staffExists) {
+        if (!principalDirectoryService.emailExists(email)) {
             throw new RuntimeException("No account found with email: " + email);
         }
 
@@ -158,31 +194,51 @@ public class AuthServiceImpl implements AuthService {
 
         String email = resetToken.getEmail();
 
-        // Update password for student, then staff (only one will match)
-        studentRepository.findByEmail(email).ifPresent(student -> {
-            student.setPassword(passwordEncoder.encode(newPassword));
-            studentRepository.save(student);
-            log.info("Password reset for student with email: {}", email);
-        });
-
-        counterStaffRepository.findByEmail(email).ifPresent(staff -> {
-            staff.setPassword(passwordEncoder.encode(newPassword));
-            counterStaffRepository.save(staff);
-            log.info("Password reset for staff with email: {}", email);
-        });
+        // One directory lookup tells which table owns the email
+        for (Principal principal : principalDirectoryService.findByEmail(email)) {
+            if (principal.getUserType() == UserType.STUDENT) {
+                studentRepository.findFreshByRollNumber(principal.getIdentifier())
+                        .ifPresent(student -> resetStudentPassword(student, newPassword));
+            } else {
+                counterStaffRepository.findByStaffId(principal.getIdentifier())
+                        .ifPresent(staff -> resetStaffPassword(staff, newPassword));
+            }
+        }
 
         // Mark token as used so it can't be replayed
         resetToken.setUsed(true);
         passwordResetTokenRepository.save(resetToken);
     }
 
+    private void resetStudentPassword(Student student, String newPassword) {
+        student.setPassword(passwordEncoder.encode(newPassword));
+        student.setCredentialVersion(student.getCredentialVersion() + 1);
+        studentRepository.save(student);
+        credentialVersionRegistry.record(student.getRollNumber(), student.getCredentialVersion());
+        userDetailsService.evict(student.getRollNumber());
+        tokenRevocationService.revokeAllForSubject(student.getRollNumber());
+        principalDirectoryService.syncStudent(student);
+        log.info("Password reset for student: {}", student.getRollNumber());
+    }
+
+    private void resetStaffPassword(CounterStaff staff, String newPassword) {
+        staff.setPassword(passwordEncoder.encode(newPassword));
+        staff.setCredentialVersion(staff.getCredentialVersion() + 1);
+        counterStaffRepository.save(staff);
+        credentialVersionRegistry.record(staff.getStaffId(), staff.getCredentialVersion());
+        userDetailsService.evict(staff.getStaffId());
+        tokenRevocationService.revokeAllForSubject(staff.getStaffId());
+        principalDirectoryService.syncStaff(staff);
+        log.info("Password reset for staff: {}", staff.getStaffId());
+    }
+
     // ─── CHANGE PASSWORD ───────────────────────────────────────────────────
 
     @Override
     public void changePassword(String identifier, String currentPassword, String newPassword, UserType userType) {
         if (userType == UserType.STUDENT) {
             Student student = studentRepository
-                    .findByRollNumber(identifier)
+                    .findFreshByRollNumber(identifier)
                     .orElseThrow(() -> new RuntimeException("Student not found!"));
 
             if (!passwordEncoder.matches(currentPassword, student.getPassword())) {
@@ -190,7 +246,12 @@ public class AuthServiceImpl implements AuthService {
             }
 
             student.setPassword(passwordEncoder.encode(newPassword));
+            student.setCredentialVersion(student.getCredentialVersion() + 1);
             studentRepository.save(student);
+            credentialVersionRegistry.record(identifier, student.getCredentialVersion());
+            userDetailsService.evict(identifier);
+            tokenRevocationService.revokeAllForSubject(identifier);
+            principalDirectoryService.syncStudent(student);
             log.info("Password changed for student: {}", identifier);
 
         } else {
@@ -203,7 +264,12 @@ public class AuthServiceImpl implements AuthService {
             }
 
             staff.setPassword(passwordEncoder.encode(newPassword));
+            staff.setCredentialVersion(staff.getCredentialVersion() + 1);
             counterStaffRepository.save(staff);
+            credentialVersionRegistry.record(identifier, staff.getCredentialVersion());
+            userDetailsService.evict(identifier);
+            tokenRevocationService.revokeAllForSubject(identifier);
+            principalDirectoryService.syncStaff(staff);
             log.info("Password changed for staff: {}", identifier);
         }
     }
@@ -212,8 +278,7 @@ public class AuthServiceImpl implements AuthService {
 
     @Override
     public boolean emailExists(String email) {
-        return studentRepository.existsByEmail(email)
-                || counterStaffRepository.existsByEmail(email);
+        return principalDirectoryService.emailExists(email);
     }
 
     @Override
@@ -234,7 +299,7 @@ public class AuthServiceImpl implements AuthService {
     @Override
     public void updateStudentProfile(String rollNumber, String name, String email) {
         Student student = studentRepository
-                .findByRollNumber(rollNumber)
+                .findFreshByRollNumber(rollNumber)
                 .orElseThrow(() -> new RuntimeException("Student not found!"));
 
         if (!student.getEmail().equals(email) && studentRepository.existsByEmail(email)) {
@@ -244,6 +309,8 @@ public class AuthServiceImpl implements AuthService {
         student.setName(name);
         student.setEmail(email);
         studentRepository.save(student);
+        principalDirectoryService.syncStudent(student);
+        userDetailsService.evict(rollNumber);
         log.info("Profile updated for student: {}", rollNumber);
     }
 }
\ No newline at end of file
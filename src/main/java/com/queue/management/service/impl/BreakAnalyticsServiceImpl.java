@@ -0,0 +1,177 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.dto.response.BreakAnalyticsResponse;
+import com.queue.management.dto.response.BreakDetail;
+import com.queue.management.dto.response.CounterBreakSummary;
+import com.queue.management.entity.CounterBreakLog;
+import com.queue.management.repository.CounterBreakLogRepository;
+import com.queue.management.repository.projection.BreakDurationPriorView;
+import com.queue.management.repository.projection.BreakQueueImpactView;
+import com.queue.management.repository.projection.BreakSummaryView;
+import com.queue.management.service.BreakAnalyticsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BreakAnalyticsServiceImpl implements BreakAnalyticsService {
+
+    // Used when there is no break history at all
+    private static final double DEFAULT_BREAK_MINUTES = 15.0;
+
+    // How often the break-duration prior is recomputed
+    private static final long PRIOR_REFRESH_MILLIS = 10 * 60 * 1000;
+
+    // Upper bound on cached closed days
+    private static final int MAX_CACHED_DAYS = 366;
+
+    private final CounterBreakLogRepository breakLogRepository;
+
+    // How many days of breaks the duration prior learns from
+    @Value("${app.break-analytics.prior-days:30}")
+    private int priorDays;
+
+    // Closed days never change, so their analytics are computed once
+    private final Map<LocalDate, BreakAnalyticsResponse> closedDayCache = new ConcurrentHashMap<>();
+
+    private volatile double overrunFactor = 1.0;
+    private volatile double averageActualMinutes = DEFAULT_BREAK_MINUTES;
+    private volatile long priorComputedAt;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BreakAnalyticsResponse getBreakAnalytics(LocalDate date) {
+        if (date.isBefore(LocalDate.now())) {
+            BreakAnalyticsResponse cached = closedDayCache.get(date);
+            if (cached != null) return cached;
+        }
+
+        BreakAnalyticsResponse response = computeAnalytics(date);
+
+        if (date.isBefore(LocalDate.now())) {
+            if (closedDayCache.size() >= MAX_CACHED_DAYS) closedDayCache.clear();
+            closedDayCache.put(date, response);
+        }
+        return response;
+    }
+
+    @Override
+    public double getExpectedBreakMinutes(Integer estimatedDuration) {
+        refreshPriorIfStale();
+        if (estimatedDuration == null) {
+            return averageActualMinutes;
+        }
+        return estimatedDuration * overrunFactor;
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private BreakAnalyticsResponse computeAnalytics(LocalDate date) {
+        LocalDateTime from = date.atStartOfDay();
+        LocalDateTime to = from.plusDays(1);
+
+        List<CounterBreakSummary> summaries = new ArrayList<>();
+        for (BreakSummaryView view : breakLogRepository.summarizeBreaks(from, to)) {
+            summaries.add(CounterBreakSummary.builder()
+                .counterName(view.getCounterName())
+                .breaks(toInt(view.getBreaks()))
+                .totalActualMinutes(toInt(view.getTotalActualMinutes()))
+                .totalEstimatedMinutes(toInt(view.getTotalEstimatedMinutes()))
+                .overruns(toInt(view.getOverruns()))
+                .overrunMinutes(toInt(view.getOverrunMinutes()))
+                .build());
+        }
+
+        // Each token is either still in tokens or already archived, so the two add up
+        Map<Long, int[]> impacts = new HashMap<>();
+        addImpacts(impacts, breakLogRepository.measureQueueImpact(from, to));
+        addImpacts(impacts, breakLogRepository.measureArchivedQueueImpact(from, to));
+
+        List<BreakDetail> details = new ArrayList<>();
+        for (CounterBreakLog breakLog : breakLogRepository.findByBreakStartBetweenOrderByBreakStartAsc(from, to)) {
+            if (breakLog.getBreakEnd() == null) continue;
+
+            int[] impact = impacts.get(breakLog.getId());
+            int waitingAtStart = impact != null ? impact[0] : 0;
+            int arrivals = impact != null ? impact[1] : 0;
+            int actual = breakLog.getActualDuration() != null ? breakLog.getActualDuration() : 0;
+            Integer estimated = breakLog.getEstimatedDuration();
+
+            details.add(BreakDetail.builder()
+                .counterName(breakLog.getCounter().getName())
+                .breakStart(breakLog.getBreakStart())
+                .breakEnd(breakLog.getBreakEnd())
+                .reason(breakLog.getReason())
+                .estimatedMinutes(estimated)
+                .actualMinutes(actual)
+                .waitingAtStart(waitingAtStart)
+                .arrivalsDuringBreak(arrivals)
+                .etaErrorMinutes(estimated != null ? actual - estimated : null)
+                .delayedStudentMinutes(waitingAtStart * actual)
+                .build());
+        }
+
+        refreshPriorIfStale();
+
+        return BreakAnalyticsResponse.builder()
+            .date(date)
+            .counters(summaries)
+            .breaks(details)
+            .overrunFactor(Math.round(overrunFactor * 100.0) / 100.0)
+            .build();
+    }
+
+    // breakId → {waitingAtStart, arrivalsDuringBreak}
+    private static void addImpacts(Map<Long, int[]> impacts, List<BreakQueueImpactView> views) {
+        for (BreakQueueImpactView view : views) {
+            int[] impact = impacts.computeIfAbsent(view.getBreakId(), id -> new int[2]);
+            impact[0] += toInt(view.getWaitingAtStart());
+            impact[1] += toInt(view.getArrivalsDuringBreak());
+        }
+    }
+
+    private void refreshPriorIfStale() {
+        long now = System.currentTimeMillis();
+        if (now - priorComputedAt < PRIOR_REFRESH_MILLIS) return;
+        priorComputedAt = now;
+
+        try {
+            BreakDurationPriorView prior = breakLogRepository
+                .findBreakDurationPrior(LocalDateTime.now().minusDays(priorDays));
+
+            if (prior == null || prior.getBreaks() == null || prior.getBreaks() == 0) {
+                overrunFactor = 1.0;
+                averageActualMinutes = DEFAULT_BREAK_MINUTES;
+                return;
+            }
+
+            if (prior.getEstimatedMinutes() != null && prior.getEstimatedMinutes() > 0
+                    && prior.getActualMinutesWithEstimate() != null) {
+                overrunFactor = (double) prior.getActualMinutesWithEstimate() / prior.getEstimatedMinutes();
+            }
+            if (prior.getAverageActualMinutes() != null) {
+                averageActualMinutes = prior.getAverageActualMinutes();
+            }
+
+            log.debug("Break prior: overrun factor {}, average {} minutes", overrunFactor, averageActualMinutes);
+
+        } catch (Exception e) {
+            log.error("Error computing break duration prior", e);
+        }
+    }
+
+    private static int toInt(Long value) {
+        return value != null ? value.intValue() : 0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.dto.response.ArrivalForecastResponse;
+import com.queue.management.dto.response.ArrivalSlotForecast;
+import com.queue.management.dto.response.CapacityPlanResponse;
+import com.queue.management.dto.response.CapacityScenario;
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.CounterStatus;
+import com.queue.management.repository.ServiceCounterRepository;
+import com.queue.management.service.ArrivalForecastService;
+import com.queue.management.service.CapacityPlannerService;
+import com.queue.management.service.StatisticsService;
+import com.queue.management.service.ValidationService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sizes counters and daily limits with the M/M/c queueing model.
+ *
+ * λ (arrivals/minute) comes from the arrival forecast, μ (services/minute) from the
+ * measured average service time. Counters are treated as one pooled queue, which is
+ * the best case for round-robin assignment.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CapacityPlannerServiceImpl implements CapacityPlannerService {
+
+    // Daily limit range accepted by CounterServiceImpl.updateDailyLimit
+    private static final int MIN_DAILY_LIMIT = 1;
+    private static final int MAX_DAILY_LIMIT = 200;
+
+    private final ArrivalForecastService arrivalForecastService;
+    private final StatisticsService statisticsService;
+    private final ValidationService validationService;
+    private final ServiceCounterRepository counterRepository;
+
+    @Override
+    public CapacityPlanResponse plan(LocalDate date,
+                                     double targetWaitMinutes,
+                                     double targetServiceLevel,
+                                     int maxCounters) {
+
+        if (targetWaitMinutes <= 0) {
+            throw new RuntimeException("Target wait must be greater than 0 minutes!");
+        }
+        if (targetServiceLevel <= 0 || targetServiceLevel >= 1) {
+            throw new RuntimeException("Target service level must be between 0 and 1!");
+        }
+        if (maxCounters < 1 || maxCounters > 20) {
+            throw new RuntimeException("Max counters must be between 1 and 20!");
+        }
+
+        // Sum the per-counter forecasts into one pooled arrival curve
+        double[] pooled = null;
+        int slotMinutes = 15;
+        for (CounterName counterName : CounterName.values()) {
+            ArrivalForecastResponse forecast = arrivalForecastService.getForecast(counterName, date);
+            List<ArrivalSlotForecast> slots = forecast.getSlots();
+            slotMinutes = forecast.getSlotMinutes();
+            if (pooled == null) pooled = new double[slots.size()];
+            for (int i = 0; i < slots.size(); i++) {
+                pooled[i] += slots.get(i).getExpectedArrivals();
+            }
+        }
+
+        double dailyArrivals = 0;
+        double peakSlot = 0;
+        for (double arrivals : pooled) {
+            dailyArrivals += arrivals;
+            peakSlot = Math.max(peakSlot, arrivals);
+        }
+
+        int serviceMinutes = validationService.getServiceMinutesPerDay();
+        double peakLambda = peakSlot / slotMinutes;
+        double averageLambda = dailyArrivals / serviceMinutes;
+
+        double serviceTime = 0;
+        for (CounterName counterName : CounterName.values()) {
+            serviceTime += statisticsService.getAverageServiceTime(counterName);
+        }
+        serviceTime /= CounterName.values().length;
+        // Guard against a zero average from sub-minute services
+        double mu = 1.0 / Math.max(serviceTime, 0.5);
+
+        List<CapacityScenario> scenarios = new ArrayList<>();
+        Integer recommended = null;
+        for (int c = 1; c <= maxCounters; c++) {
+            CapacityScenario scenario = evaluate(peakLambda, mu, c, targetWaitMinutes, targetServiceLevel);
+            scenarios.add(scenario);
+            if (recommended == null && scenario.getMeetsTarget()) {
+                recommended = c;
+            }
+        }
+
+        int activeCounters = counterRepository.findByStatus(CounterStatus.ACTIVE).size();
+        int sizingCounters = recommended != null ? recommended : Math.max(activeCounters, 1);
+
+        // Highest steady arrival rate the counters can absorb within target,
+        // spread over a service day and split per counter
+        double maxLambda = maxArrivalRate(mu, sizingCounters, targetWaitMinutes, targetServiceLevel);
+        int dailyLimit = (int) Math.floor(maxLambda * serviceMinutes / sizingCounters);
+        dailyLimit = Math.max(MIN_DAILY_LIMIT, Math.min(MAX_DAILY_LIMIT, dailyLimit));
+
+        log.debug("Capacity plan for {}: peak λ={}/min, μ={}/min, recommended counters={}, limit={}",
+            date, peakLambda, mu, recommended, dailyLimit);
+
+        return CapacityPlanResponse.builder()
+            .serviceDate(date)
+            .peakArrivalsPerHour(round(peakLambda * 60))
+            .averageArrivalsPerHour(round(averageLambda * 60))
+            .expectedDailyArrivals(round(dailyArrivals))
+            .averageServiceTimeMinutes(round(serviceTime))
+            .targetWaitMinutes(targetWaitMinutes)
+            .targetServiceLevel(targetServiceLevel)
+            .activeCounters(activeCounters)
+            .scenarios(scenarios)
+            .recommendedCounters(recommended)
+            .recommendedDailyLimit(dailyLimit)
+            .build();
+    }
+
+    // ─── QUEUEING MODEL ───────────────────────────────────────────────────
+
+    private CapacityScenario evaluate(double lambda, double mu, int c,
+                                      double targetWait, double targetLevel) {
+        double utilization = lambda / (c * mu);
+
+        if (utilization >= 1) {
+            return CapacityScenario.builder()
+                .counters(c)
+                .utilization(round(utilization))
+                .probabilityOfWaiting(1.0)
+                .expectedWaitMinutes(null)
+                .serviceLevel(0.0)
+                .meetsTarget(false)
+                .build();
+        }
+
+        double pWait = erlangC(lambda / mu, c);
+        double expectedWait = pWait / (c * mu - lambda);
+        double serviceLevel = 1 - pWait * Math.exp(-(c * mu - lambda) * targetWait);
+
+        return CapacityScenario.builder()
+            .counters(c)
+            .utilization(round(utilization))
+            .probabilityOfWaiting(round(pWait))
+            .expectedWaitMinutes(round(expectedWait))
+            .serviceLevel(round(serviceLevel))
+            .meetsTarget(serviceLevel >= targetLevel)
+            .build();
+    }
+
+    // Probability of waiting for offered load a (Erlangs) on c servers.
+    // Built from the Erlang B recursion, which stays stable for large c.
+    static double erlangC(double a, int c) {
+        if (a <= 0) return 0;
+        double erlangB = 1;
+        for (int k = 1; k <= c; k++) {
+            erlangB = a * erlangB / (k + a * erlangB);
+        }
+        return c * erlangB / (c - a * (1 - erlangB));
+    }
+
+    // Binary search for the largest λ that still meets the target on c servers
+    private double maxArrivalRate(double mu, int c, double targetWait, double targetLevel) {
+        double low = 0;
+        double high = c * mu;
+        for (int i = 0; i < 50; i++) {
+            double mid = (low + high) / 2;
+            if (evaluate(mid, mu, c, targetWait, targetLevel).getMeetsTarget()) {
+                low = mid;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.enums.CounterName;
+import com.queue.management.repository.ServiceCounterRepository;
+import com.queue.management.service.CounterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CounterRegistryImpl implements CounterRegistry {
+
+    private final ServiceCounterRepository counterRepository;
+
+    // Replaced as a whole on every change, so readers never lock
+    private volatile Map<CounterName, CounterSnapshot> counters = Map.of();
+
+    // Bumped on every applied event; a resync that raced with one is dropped
+    private long changeCount;
+
+    @PostConstruct
+    void init() {
+        try {
+            resync();
+        } catch (Exception e) {
+            log.warn("Could not load counters: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public CounterSnapshot get(CounterName counterName) {
+        CounterSnapshot snapshot = counters.get(counterName);
+        if (snapshot != null) return snapshot;
+
+        // Created after startup (e.g. seeded by SQL); load it once
+        ServiceCounter counter = counterRepository.findByName(counterName)
+            .orElseThrow(() -> new RuntimeException("Counter not found: " + counterName));
+        snapshot = CounterSnapshot.of(counter);
+        put(snapshot);
+        return snapshot;
+    }
+
+    @Override
+    public CounterSnapshot findById(Long id) {
+        for (CounterSnapshot snapshot : counters.values()) {
+            if (snapshot.id().equals(id)) return snapshot;
+        }
+        return null;
+    }
+
+    @Override
+    public ServiceCounter reference(CounterName counterName) {
+        return counterRepository.getReferenceById(get(counterName).id());
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.counter-registry.resync-seconds:15}",
+               initialDelayString = "${app.counter-registry.resync-seconds:15}",
+               timeUnit = TimeUnit.SECONDS)
+    public void resync() {
+        long before;
+        synchronized (this) {
+            before = changeCount;
+        }
+
+        Map<CounterName, CounterSnapshot> loaded = new EnumMap<>(CounterName.class);
+        // Past the second-level cache, which may hold the stale state this resync repairs
+        for (ServiceCounter counter : counterRepository.findAllFresh()) {
+            loaded.put(counter.getName(), CounterSnapshot.of(counter));
+        }
+
+        synchronized (this) {
+            // An event committed while we were reading is newer than what we read
+            if (changeCount != before) return;
+            counters = Collections.unmodifiableMap(loaded);
+        }
+        log.debug("Counter registry resynced with {} counters", loaded.size());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounterChanged(CounterChangedEvent event) {
+        put(event.snapshot());
+        log.debug("Counter {} updated in registry: {}", event.snapshot().name(), event.snapshot().status());
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private synchronized void put(CounterSnapshot snapshot) {
+        Map<CounterName, CounterSnapshot> next = new EnumMap<>(CounterName.class);
+        next.putAll(counters);
+        next.put(snapshot.name(), snapshot);
+        counters = Collections.unmodifiableMap(next);
+        changeCount++;
+    }
+}
@@ -5,7 +5,6 @@ import com.queue.management.dto.response.TokenNotification;
 import com.queue.management.entity.CounterBreakLog;
 import com.queue.management.entity.DailyCounterState;
 import com.queue.management.entity.ServiceCounter;
-import com.queue.management.entity.Token;
 import com.queue.management.enums.CounterName;
 import com.queue.management.enums.CounterStatus;
 import com.queue.management.enums.NotificationType;
@@ -14,19 +13,24 @@ import com.queue.management.repository.CounterBreakLogRepository;
 import com.queue.management.repository.DailyCounterStateRepository;
 import com.queue.management.repository.ServiceCounterRepository;
 import com.queue.management.repository.TokenRepository;
+import com.queue.management.repository.projection.QueueEntryView;
+import com.queue.management.repository.projection.StatusCountView;
+import com.queue.management.service.CounterRegistry;
 import com.queue.management.service.CounterService;
 import com.queue.management.service.NotificationService;
 import com.queue.management.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.util.Comparator;
 import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -35,11 +39,13 @@ import java.util.Optional;
 public class CounterServiceImpl implements CounterService {
 
     private final ServiceCounterRepository counterRepository;
+    private final CounterRegistry counterRegistry;
     private final TokenRepository tokenRepository;
     private final CounterBreakLogRepository breakLogRepository;
     private final DailyCounterStateRepository dailyCounterStateRepository;
     private final StatisticsService statisticsService;
     private final NotificationService notificationService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -55,7 +61,7 @@ public class CounterServiceImpl implements CounterService {
         counter.setBreakStartedAt(LocalDateTime.now());
         counter.setBreakReason(reason);
         counter.setEstimatedBreakDuration(estimatedDuration);
-        counterRepository.save(counter);
+        saveCounter(counter);
 
         CounterBreakLog breakLog = CounterBreakLog.builder()
             .counter(counter)
@@ -82,14 +88,12 @@ public class CounterServiceImpl implements CounterService {
         );
 
         // Send personal COUNTER_BREAK notification to all waiting students
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, LocalDate.now()
-            );
+        List<QueueEntryView> waitingTokens = tokenRepository
+            .findQueueEntries(counter, TokenStatus.WAITING, LocalDate.now());
 
-        for (Token token : waitingTokens) {
+        for (QueueEntryView token : waitingTokens) {
             notificationService.notifyStudent(
-                token.getStudent().getRollNumber(),
+                token.getRollNumber(),
                 TokenNotification.builder()
                     .type(NotificationType.COUNTER_BREAK)
                     .tokenCode(token.getTokenCode())
@@ -120,15 +124,14 @@ public class CounterServiceImpl implements CounterService {
         counter.setBreakStartedAt(null);
         counter.setBreakReason(null);
         counter.setEstimatedBreakDuration(null);
-        counterRepository.save(counter);
+        saveCounter(counter);
 
-        List<CounterBreakLog> activeLogs = breakLogRepository.findByCounterAndBreakEndIsNull(counter);
-        if (!activeLogs.isEmpty()) {
-            CounterBreakLog breakLog = activeLogs.get(0);
-            breakLog.setBreakEnd(breakEnd);
-            breakLog.setActualDuration(actualDuration);
-            breakLogRepository.save(breakLog);
-        }
+        breakLogRepository.findTopByCounterAndBreakEndIsNullOrderByBreakStartDesc(counter)
+            .ifPresent(breakLog -> {
+                breakLog.setBreakEnd(breakEnd);
+                breakLog.setActualDuration(actualDuration);
+                breakLogRepository.save(breakLog);
+            });
 
         log.info("Counter {} ended break. Duration: {} minutes", counterName, actualDuration);
 
@@ -141,14 +144,12 @@ public class CounterServiceImpl implements CounterService {
         );
 
         // Send personal COUNTER_RESUME to all waiting students
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, LocalDate.now()
-            );
+        List<QueueEntryView> waitingTokens = tokenRepository
+            .findQueueEntries(counter, TokenStatus.WAITING, LocalDate.now());
 
-        for (Token token : waitingTokens) {
+        for (QueueEntryView token : waitingTokens) {
             notificationService.notifyStudent(
-                token.getStudent().getRollNumber(),
+                token.getRollNumber(),
                 TokenNotification.builder()
                     .type(NotificationType.COUNTER_RESUME)
                     .tokenCode(token.getTokenCode())
@@ -166,7 +167,7 @@ public class CounterServiceImpl implements CounterService {
     public void updateCounterStatus(CounterName counterName, CounterStatus newStatus) {
         ServiceCounter counter = getCounter(counterName);
         counter.setStatus(newStatus);
-        counterRepository.save(counter);
+        saveCounter(counter);
         log.info("Counter {} status updated to: {}", counterName, newStatus);
     }
 
@@ -178,11 +179,12 @@ public class CounterServiceImpl implements CounterService {
         }
         ServiceCounter counter = getCounter(counterName);
         counter.setDailyLimit(newLimit);
-        counterRepository.save(counter);
+        saveCounter(counter);
         log.info("Counter {} daily limit updated to: {}", counterName, newLimit);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<QueueStatusResponse> getAllCounterStatus() {
         List<QueueStatusResponse> responses = new ArrayList<>();
         for (CounterName counterName : CounterName.values()) {
@@ -192,33 +194,36 @@ public class CounterServiceImpl implements CounterService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public QueueStatusResponse getCounterStatus(CounterName counterName) {
 
-        ServiceCounter counter = getCounter(counterName);
+        // Counter state from the registry; tokens read as counts and projections
+        CounterRegistry.CounterSnapshot snapshot = counterRegistry.get(counterName);
+        ServiceCounter counter = counterRegistry.reference(counterName);
         LocalDate today = LocalDate.now();
 
-        Optional<Token> servingToken = tokenRepository
-            .findTopByCounterAndStatusAndServiceDateOrderByServedAtDesc(counter, TokenStatus.SERVING, today);
-
-        List<Token> allTokensToday = tokenRepository.findByCounterAndServiceDate(counter, today);
+        Optional<QueueEntryView> servingToken = tokenRepository
+            .findLatestServedEntry(counter, TokenStatus.SERVING, today);
 
         int waitingCount = 0;
         int completedCount = 0;
         int droppedCount = 0;
-
-        for (Token token : allTokensToday) {
-            switch (token.getStatus()) {
-                case WAITING -> waitingCount++;
-                case COMPLETED -> completedCount++;
-                case DROPPED -> droppedCount++;
+        int totalIssued = 0;
+
+        for (StatusCountView row : tokenRepository.countByStatus(counter, today)) {
+            int tokens = row.getTokens().intValue();
+            totalIssued += tokens;
+            switch (row.getStatus()) {
+                case WAITING -> waitingCount = tokens;
+                case COMPLETED -> completedCount = tokens;
+                case DROPPED -> droppedCount = tokens;
                 default -> {}
             }
         }
 
         // Find next WAITING token for display
-        Token nextWaiting = allTokensToday.stream()
-            .filter(t -> t.getStatus() == TokenStatus.WAITING)
-            .min(Comparator.comparingInt(Token::getTokenNumber))
+        QueueEntryView nextWaiting = tokenRepository
+            .findFirstQueueEntry(counter, TokenStatus.WAITING, today)
             .orElse(null);
 
         double avgServiceTime = statisticsService.getAverageServiceTime(counterName);
@@ -227,22 +232,22 @@ public class CounterServiceImpl implements CounterService {
 
         return QueueStatusResponse.builder()
             .counterName(counterName)
-            .counterStatus(counter.getStatus())
-            .currentlyServing(servingToken.map(Token::getTokenCode).orElse(null))
-            .currentStudentRollNumber(servingToken.map(t -> t.getStudent().getRollNumber()).orElse(null))
+            .counterStatus(snapshot.status())
+            .currentlyServing(servingToken.map(QueueEntryView::getTokenCode).orElse(null))
+            .currentStudentRollNumber(servingToken.map(QueueEntryView::getRollNumber).orElse(null))
             .nextTokenCode(nextWaiting != null ? nextWaiting.getTokenCode() : null)
-            .nextStudentRollNumber(nextWaiting != null ? nextWaiting.getStudent().getRollNumber() : null)
+            .nextStudentRollNumber(nextWaiting != null ? nextWaiting.getRollNumber() : null)
             .waitingCount(waitingCount)
             .completedCount(completedCount)
             .droppedCount(droppedCount)
-            .totalIssuedToday(allTokensToday.size())
-            .dailyLimit(counter.getDailyLimit())
+            .totalIssuedToday(totalIssued)
+            .dailyLimit(snapshot.dailyLimit())
             .averageServiceTime(avgServiceTime)
             .serviceTrend(trend)
             .estimatedWaitTimeForNew(estimatedWaitForNew)
-            .onBreak(counter.getStatus() == CounterStatus.ON_BREAK)
-            .breakReason(counter.getBreakReason())
-            .estimatedBreakDuration(counter.getEstimatedBreakDuration())
+            .onBreak(snapshot.status() == CounterStatus.ON_BREAK)
+            .breakReason(snapshot.breakReason())
+            .estimatedBreakDuration(snapshot.estimatedBreakDuration())
             .build();
     }
 
@@ -254,23 +259,18 @@ public class CounterServiceImpl implements CounterService {
         LocalDate today = LocalDate.now();
         LocalDate tomorrow = today.plusDays(1);
 
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, today
-            );
+        // Who is affected, in queue order (one query, no entities). Locked so a token
+        // issued or cancelled meanwhile can't shift the UPDATE's numbering off these codes
+        List<QueueEntryView> waiting = tokenRepository
+            .lockQueueEntries(counter, TokenStatus.WAITING, today);
 
-        // Reassign fresh sequential numbers starting from 1
-        int newNumber = 1;
-        for (Token token : waitingTokens) {
-            token.setStatus(TokenStatus.RESCHEDULED);
-            token.setIsRescheduled(true);
-            token.setOriginalServiceDate(today);
-            token.setServiceDate(tomorrow);
-            token.setTokenNumber(newNumber);
-            token.setTokenCode(counterName.name() + "-" + String.format("%03d", newNumber));
-            tokenRepository.save(token);
-            newNumber++;
-        }
+        counter.setStatus(CounterStatus.CLOSED);
+        saveCounter(counter);
+
+        // One statement: move to tomorrow and reassign fresh sequential numbers from 1
+        int rescheduled = tokenRepository.rescheduleWaitingTokens(
+            counter.getId(), today, tomorrow, counterName.name()
+        );
 
         // Set tomorrow's DailyCounterState so new tokens continue after the rescheduled ones
         DailyCounterState tomorrowState = dailyCounterStateRepository
@@ -280,14 +280,32 @@ public class CounterServiceImpl implements CounterService {
                 .serviceDate(tomorrow)
                 .lastTokenNumber(0)
                 .build());
-        tomorrowState.setLastTokenNumber(waitingTokens.size());
+        tomorrowState.setLastTokenNumber(rescheduled);
         dailyCounterStateRepository.save(tomorrowState);
 
-        counter.setStatus(CounterStatus.CLOSED);
-        counterRepository.save(counter);
+        // Same numbering as the UPDATE: position in token order, starting at 1
+        Map<String, TokenNotification> notifications = new LinkedHashMap<>();
+        int newNumber = 1;
+        for (QueueEntryView entry : waiting) {
+            String newCode = counterName.name() + "-" + String.format("%03d", newNumber++);
+            notifications.put(entry.getRollNumber(), TokenNotification.builder()
+                .type(NotificationType.COUNTER_CLOSED)
+                .tokenCode(newCode)
+                .counterName(counterName)
+                .status(TokenStatus.RESCHEDULED)
+                .message("Counter " + counterName + " has closed. Your token " + entry.getTokenCode() +
+                         " is moved to " + tomorrow + " as " + newCode)
+                .build());
+        }
+        notificationService.notifyStudents(notifications);
+
+        notificationService.notifyQueueUpdate(
+            null, counterName, null, 0, null,
+            "Counter " + counterName + " has closed. Waiting tokens moved to " + tomorrow
+        );
 
         log.info("Counter {} stopped. {} tokens rescheduled to {} with fresh numbers",
-            counterName, waitingTokens.size(), tomorrow);
+            counterName, rescheduled, tomorrow);
     }
 
     @Override
@@ -297,20 +315,44 @@ public class CounterServiceImpl implements CounterService {
         ServiceCounter counter = getCounter(counterName);
         LocalDate today = LocalDate.now();
 
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, today
-            );
+        // Locked, so the students notified are exactly the ones the UPDATE expires
+        List<QueueEntryView> waiting = tokenRepository
+            .lockQueueEntries(counter, TokenStatus.WAITING, today);
+
+        counter.setStatus(CounterStatus.CLOSED);
+        saveCounter(counter);
+
+        // One statement for the whole queue
+        int expired = tokenRepository.bulkUpdateStatus(
+            counter, TokenStatus.WAITING, today, TokenStatus.DROPPED, LocalDateTime.now()
+        );
 
-        for (Token token : waitingTokens) {
-            token.setStatus(TokenStatus.DROPPED);
-            tokenRepository.save(token);
+        Map<String, TokenNotification> notifications = new LinkedHashMap<>();
+        for (QueueEntryView entry : waiting) {
+            notifications.put(entry.getRollNumber(), TokenNotification.builder()
+                .type(NotificationType.COUNTER_CLOSED)
+                .tokenCode(entry.getTokenCode())
+                .counterName(counterName)
+                .status(TokenStatus.DROPPED)
+                .message("Counter " + counterName + " has closed for today. Your token " +
+                         entry.getTokenCode() + " has expired")
+                .build());
         }
+        notificationService.notifyStudents(notifications);
 
-        counter.setStatus(CounterStatus.CLOSED);
-        counterRepository.save(counter);
+        notificationService.notifyQueueUpdate(
+            null, counterName, null, 0, null,
+            "Counter " + counterName + " has closed for today"
+        );
 
-        log.info("Counter {} stopped. {} tokens expired", counterName, waitingTokens.size());
+        log.info("Counter {} stopped. {} tokens expired", counterName, expired);
+    }
+
+    // Save and let the CounterRegistry pick the change up once the transaction commits
+    private void saveCounter(ServiceCounter counter) {
+        counterRepository.save(counter);
+        eventPublisher.publishEvent(new CounterRegistry.CounterChangedEvent(
+            CounterRegistry.CounterSnapshot.of(counter)));
     }
 
     private ServiceCounter getCounter(CounterName counterName) {
@@ -320,8 +362,8 @@ public class CounterServiceImpl implements CounterService {
     }
 
     private int countWaiting(ServiceCounter counter, LocalDate date) {
-        return tokenRepository.findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
+        return (int) tokenRepository.countByCounterAndStatusAndServiceDate(
             counter, TokenStatus.WAITING, date
-        ).size();
+        );
     }
 }
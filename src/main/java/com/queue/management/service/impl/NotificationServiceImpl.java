@@ -9,12 +9,20 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class NotificationServiceImpl implements NotificationService {
 
+    // Subscribed to by students as /user/queue/notifications
+    private static final String STUDENT_QUEUE = "/queue/notifications";
+
     private final SimpMessagingTemplate messagingTemplate;
 
     @Override
@@ -44,9 +52,33 @@ public class NotificationServiceImpl implements NotificationService {
 
     @Override
     public void notifyStudent(String rollNumber, TokenNotification notification) {
-        String destination = "/topic/student/" + rollNumber;
-        messagingTemplate.convertAndSend(destination, notification);
+        // Routed by principal name to the user's sessions, no topic-wide matching
+        messagingTemplate.convertAndSendToUser(rollNumber, STUDENT_QUEUE, notification);
+
+        log.debug("Student notification → {} {}: {}", rollNumber, STUDENT_QUEUE, notification.getMessage());
+    }
+
+    @Override
+    public void notifyStudents(Map<String, TokenNotification> notifications) {
+        if (notifications.isEmpty()) return;
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            Map<String, TokenNotification> batch = new LinkedHashMap<>(notifications);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    sendAll(batch);
+                }
+            });
+        } else {
+            sendAll(notifications);
+        }
+    }
+
+    private void sendAll(Map<String, TokenNotification> notifications) {
+        notifications.forEach((rollNumber, notification) ->
+                messagingTemplate.convertAndSendToUser(rollNumber, STUDENT_QUEUE, notification));
 
-        log.debug("Student notification → {}: {}", destination, notification.getMessage());
+        log.debug("Student notifications → {} students {}", notifications.size(), STUDENT_QUEUE);
     }
 }
@@ -0,0 +1,99 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.entity.CounterStaff;
+import com.queue.management.entity.Principal;
+import com.queue.management.entity.Student;
+import com.queue.management.enums.UserType;
+import com.queue.management.repository.PrincipalRepository;
+import com.queue.management.service.PrincipalDirectoryService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Maintains the principals table alongside students and counter_staff.
+ *
+ * Every write to either table goes through AuthServiceImpl, which syncs the
+ * directory right after. Rows inserted outside the application (data.sql,
+ * manual SQL) are picked up by the backfill at startup, and by
+ * CustomUserDetailsService falling back to the source tables on a miss.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PrincipalDirectoryServiceImpl implements PrincipalDirectoryService {
+
+    private final PrincipalRepository principalRepository;
+
+    @Override
+    public Optional<Principal> findByIdentifier(String identifier) {
+        return principalRepository.findByIdentifier(identifier);
+    }
+
+    @Override
+    public List<Principal> findByEmail(String email) {
+        return principalRepository.findByEmail(email);
+    }
+
+    @Override
+    public boolean emailExists(String email) {
+        return principalRepository.existsByEmail(email);
+    }
+
+    @Override
+    @Transactional
+    public void syncStudent(Student student) {
+        sync(student.getRollNumber(), UserType.STUDENT, student.getEmail(), student.getName(),
+                student.getPassword(), student.getCredentialVersion());
+    }
+
+    @Override
+    @Transactional
+    public void syncStaff(CounterStaff staff) {
+        sync(staff.getStaffId(), UserType.COUNTER_STAFF, staff.getEmail(), staff.getName(),
+                staff.getPassword(), staff.getCredentialVersion());
+    }
+
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            // Students first: on an identifier clash the student keeps it, as in login lookups
+            int students = principalRepository.backfillStudents();
+            int staff = principalRepository.backfillStaff();
+            log.info("Principal directory backfilled ({} student rows, {} staff rows affected)", students, staff);
+        } catch (Exception e) {
+            log.error("Error backfilling principal directory", e);
+        }
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private void sync(String identifier, UserType userType, String email, String name,
+                      String password, Integer credentialVersion) {
+
+        Principal principal = principalRepository.findByIdentifier(identifier)
+                .orElseGet(() -> Principal.builder()
+                        .identifier(identifier)
+                        .userType(userType)
+                        .build());
+
+        if (principal.getUserType() != userType) {
+            log.warn("Identifier {} is already a {} in the principal directory, not syncing {}",
+                    identifier, principal.getUserType(), userType);
+            return;
+        }
+
+        principal.setEmail(email);
+        principal.setName(name);
+        principal.setPassword(password);
+        principal.setCredentialVersion(credentialVersion);
+        principalRepository.save(principal);
+    }
+}
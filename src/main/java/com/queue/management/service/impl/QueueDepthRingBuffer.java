@@ -0,0 +1,140 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.enums.CounterStatus;
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Fixed-memory ring buffer of queue-depth samples for one counter and one day.
+ * Samples are kept in parallel primitive arrays so a full day costs a few KB
+ * and sampling never allocates.
+ *
+ * Packed layout (used for the daily blob), 9 bytes per sample:
+ * int second-of-day | short waiting count | short serving token number (-1 = idle) | byte status ordinal
+ */
+class QueueDepthRingBuffer {
+
+    static final int BYTES_PER_SAMPLE = 9;
+
+    private final int[] secondOfDay;
+    private final short[] waiting;
+    private final short[] servingNumber;
+    private final byte[] status;
+
+    private LocalDate serviceDate;
+    private int head;   // next write position
+    private int size;
+
+    QueueDepthRingBuffer(int capacity, LocalDate serviceDate) {
+        this.secondOfDay = new int[capacity];
+        this.waiting = new short[capacity];
+        this.servingNumber = new short[capacity];
+        this.status = new byte[capacity];
+        this.serviceDate = serviceDate;
+    }
+
+    // Record a sample, overwriting the oldest one when full
+    synchronized void add(int second, int waitingCount, Integer servingTokenNumber, CounterStatus counterStatus) {
+        secondOfDay[head] = second;
+        waiting[head] = (short) Math.min(waitingCount, Short.MAX_VALUE);
+        servingNumber[head] = servingTokenNumber != null ? servingTokenNumber.shortValue() : -1;
+        status[head] = counterStatus != null ? (byte) counterStatus.ordinal() : -1;
+        head = (head + 1) % secondOfDay.length;
+        if (size < secondOfDay.length) size++;
+    }
+
+    synchronized LocalDate getServiceDate() {
+        return serviceDate;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    // Drop all samples and start recording for a new day
+    synchronized void reset(LocalDate newDate) {
+        serviceDate = newDate;
+        head = 0;
+        size = 0;
+    }
+
+    // Pack samples oldest-first into the daily blob format
+    synchronized byte[] encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(size * BYTES_PER_SAMPLE);
+        int start = (head - size + secondOfDay.length) % secondOfDay.length;
+        for (int i = 0; i < size; i++) {
+            int idx = (start + i) % secondOfDay.length;
+            buffer.putInt(secondOfDay[idx]);
+            buffer.putShort(waiting[idx]);
+            buffer.putShort(servingNumber[idx]);
+            buffer.put(status[idx]);
+        }
+        return buffer.array();
+    }
+
+    // Load samples from a stored blob (e.g. restoring today's series after a restart)
+    synchronized void restore(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        while (buffer.remaining() >= BYTES_PER_SAMPLE) {
+            int second = buffer.getInt();
+            short waitingCount = buffer.getShort();
+            short serving = buffer.getShort();
+            byte statusOrdinal = buffer.get();
+            secondOfDay[head] = second;
+            waiting[head] = waitingCount;
+            servingNumber[head] = serving;
+            status[head] = statusOrdinal;
+            head = (head + 1) % secondOfDay.length;
+            if (size < secondOfDay.length) size++;
+        }
+    }
+
+    // Combine two packed series into one sample per interval slot, in time order.
+    // Every instance samples the same counters, so a slot both series cover keeps the one from later.
+    static byte[] merge(byte[] stored, byte[] later, int intervalSeconds) {
+        int interval = Math.max(1, intervalSeconds);
+        Map<Integer, Sample> bySlot = new TreeMap<>();
+        for (Sample sample : decode(stored)) bySlot.put(sample.secondOfDay() / interval, sample);
+        for (Sample sample : decode(later)) bySlot.put(sample.secondOfDay() / interval, sample);
+        return encode(bySlot.values());
+    }
+
+    // Pack samples in the daily blob format
+    static byte[] encode(Collection<Sample> samples) {
+        ByteBuffer buffer = ByteBuffer.allocate(samples.size() * BYTES_PER_SAMPLE);
+        for (Sample sample : samples) {
+            buffer.putInt(sample.secondOfDay());
+            buffer.putShort((short) Math.min(sample.waitingCount(), Short.MAX_VALUE));
+            buffer.putShort(sample.servingTokenNumber() != null ? sample.servingTokenNumber().shortValue() : -1);
+            buffer.put(sample.status() != null ? (byte) sample.status().ordinal() : -1);
+        }
+        return buffer.array();
+    }
+
+    // Decode a packed blob into samples
+    static List<Sample> decode(byte[] blob) {
+        ByteBuffer buffer = ByteBuffer.wrap(blob);
+        List<Sample> samples = new ArrayList<>(blob.length / BYTES_PER_SAMPLE);
+        CounterStatus[] statuses = CounterStatus.values();
+        while (buffer.remaining() >= BYTES_PER_SAMPLE) {
+            int second = buffer.getInt();
+            int waitingCount = buffer.getShort();
+            int serving = buffer.getShort();
+            int statusOrdinal = buffer.get();
+            samples.add(new Sample(
+                second,
+                waitingCount,
+                serving >= 0 ? serving : null,
+                statusOrdinal >= 0 && statusOrdinal < statuses.length ? statuses[statusOrdinal] : null
+            ));
+        }
+        return samples;
+    }
+
+    record Sample(int secondOfDay, int waitingCount, Integer servingTokenNumber, CounterStatus status) {}
+}
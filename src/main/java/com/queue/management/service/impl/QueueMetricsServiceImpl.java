@@ -0,0 +1,221 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.dto.response.QueueDepthPoint;
+import com.queue.management.dto.response.QueueDepthSeriesResponse;
+import com.queue.management.entity.QueueDepthSnapshot;
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.TokenStatus;
+import com.queue.management.repository.QueueDepthSnapshotRepository;
+import com.queue.management.repository.TokenRepository;
+import com.queue.management.repository.projection.QueueEntryView;
+import com.queue.management.service.CounterRegistry;
+import com.queue.management.service.CounterRegistry.CounterSnapshot;
+import com.queue.management.service.QueueMetricsService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class QueueMetricsServiceImpl implements QueueMetricsService {
+
+    private final CounterRegistry counterRegistry;
+    private final TokenRepository tokenRepository;
+    private final QueueDepthSnapshotRepository snapshotRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.queue-metrics.sample-interval-seconds:60}")
+    private int sampleIntervalSeconds;
+
+    // One fixed-size buffer per counter, sized for a full day of samples
+    private final Map<CounterName, QueueDepthRingBuffer> buffers = new EnumMap<>(CounterName.class);
+
+    @PostConstruct
+    void init() {
+        int capacity = (int) Math.ceil(86400.0 / Math.max(1, sampleIntervalSeconds));
+        LocalDate today = LocalDate.now();
+        for (CounterName counterName : CounterName.values()) {
+            buffers.put(counterName, new QueueDepthRingBuffer(capacity, today));
+        }
+        restoreToday(today);
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${app.queue-metrics.sample-interval-seconds:60}",
+               initialDelayString = "${app.queue-metrics.sample-interval-seconds:60}",
+               timeUnit = TimeUnit.SECONDS)
+    public void sampleQueueDepth() {
+        LocalDate today = LocalDate.now();
+        int second = LocalTime.now().toSecondOfDay();
+
+        for (CounterName counterName : CounterName.values()) {
+            try {
+                CounterSnapshot snapshot = counterRegistry.get(counterName);
+                ServiceCounter counter = counterRegistry.reference(counterName);
+
+                QueueDepthRingBuffer buffer = buffers.get(counterName);
+                if (!today.equals(buffer.getServiceDate())) {
+                    // Missed the midnight rollover (e.g. long GC or clock change)
+                    persist(counterName, buffer);
+                    buffer.reset(today);
+                }
+
+                long waiting = tokenRepository
+                    .countByCounterAndStatusAndServiceDate(counter, TokenStatus.WAITING, today);
+
+                Integer servingNumber = tokenRepository
+                    .findLatestServedEntry(counter, TokenStatus.SERVING, today)
+                    .map(QueueEntryView::getTokenNumber)
+                    .orElse(null);
+
+                buffer.add(second, (int) waiting, servingNumber, snapshot.status());
+
+            } catch (Exception e) {
+                log.error("Error sampling queue depth for Counter {}", counterName, e);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(cron = "${app.queue-metrics.rollover-cron:0 0 0 * * *}")
+    public void rollover() {
+        LocalDate today = LocalDate.now();
+        for (CounterName counterName : CounterName.values()) {
+            QueueDepthRingBuffer buffer = buffers.get(counterName);
+            if (today.equals(buffer.getServiceDate())) continue;
+
+            try {
+                persist(counterName, buffer);
+            } catch (Exception e) {
+                log.error("Could not store queue depth series for Counter {}", counterName, e);
+            }
+            buffer.reset(today);
+        }
+        log.info("Queue depth series rolled over to {}", today);
+    }
+
+    @Override
+    public QueueDepthSeriesResponse getQueueDepthSeries(CounterName counterName, LocalDate date) {
+        QueueDepthRingBuffer buffer = buffers.get(counterName);
+
+        List<QueueDepthRingBuffer.Sample> samples;
+        int interval = sampleIntervalSeconds;
+
+        QueueDepthSnapshot snapshot = snapshotRepository
+            .findByCounterAndServiceDate(counterRegistry.reference(counterName), date)
+            .orElse(null);
+
+        if (date.equals(buffer.getServiceDate())) {
+            // Today: this instance's samples, plus whatever other instances have stored
+            byte[] local = buffer.encode();
+            samples = QueueDepthRingBuffer.decode(
+                snapshot != null && snapshot.getSampleIntervalSeconds() == sampleIntervalSeconds
+                    ? QueueDepthRingBuffer.merge(snapshot.getSamples(), local, sampleIntervalSeconds)
+                    : local);
+        } else if (snapshot == null) {
+            samples = List.of();
+        } else {
+            samples = QueueDepthRingBuffer.decode(snapshot.getSamples());
+            interval = snapshot.getSampleIntervalSeconds();
+        }
+
+        List<QueueDepthPoint> points = new ArrayList<>(samples.size());
+        for (QueueDepthRingBuffer.Sample sample : samples) {
+            points.add(QueueDepthPoint.builder()
+                .time(LocalTime.ofSecondOfDay(sample.secondOfDay()))
+                .waitingCount(sample.waitingCount())
+                .currentlyServing(sample.servingTokenNumber() != null
+                    ? counterName.name() + "-" + String.format("%03d", sample.servingTokenNumber())
+                    : null)
+                .counterStatus(sample.status())
+                .build());
+        }
+
+        return QueueDepthSeriesResponse.builder()
+            .counterName(counterName)
+            .serviceDate(date)
+            .sampleIntervalSeconds(interval)
+            .points(points)
+            .build();
+    }
+
+    // Keep today's partial series across restarts
+    @PreDestroy
+    void flushToday() {
+        for (CounterName counterName : CounterName.values()) {
+            try {
+                persist(counterName, buffers.get(counterName));
+            } catch (Exception e) {
+                log.warn("Could not flush queue depth series for Counter {}: {}", counterName, e.getMessage());
+            }
+        }
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private void restoreToday(LocalDate today) {
+        try {
+            for (CounterName counterName : CounterName.values()) {
+                snapshotRepository.findByCounterAndServiceDate(counterRegistry.reference(counterName), today)
+                    .filter(snapshot -> snapshot.getSampleIntervalSeconds() == sampleIntervalSeconds)
+                    .ifPresent(snapshot -> buffers.get(counterName).restore(snapshot.getSamples()));
+            }
+        } catch (Exception e) {
+            log.warn("Could not restore today's queue depth series: {}", e.getMessage());
+        }
+    }
+
+    // Every instance samples and stores the same (counter, date) row, so merge into what
+    // is there instead of overwriting it. The row lock makes concurrent flushes take turns.
+    private void persist(CounterName counterName, QueueDepthRingBuffer buffer) {
+        if (buffer.size() == 0) return;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> mergeInto(counterName, buffer));
+        } catch (DataIntegrityViolationException e) {
+            // Another instance created the row first; merge into theirs
+            transactionTemplate.executeWithoutResult(status -> mergeInto(counterName, buffer));
+        }
+    }
+
+    private void mergeInto(CounterName counterName, QueueDepthRingBuffer buffer) {
+        ServiceCounter counter = counterRegistry.reference(counterName);
+        LocalDate date = buffer.getServiceDate();
+        byte[] local = buffer.encode();
+
+        QueueDepthSnapshot snapshot = snapshotRepository
+            .findForUpdateByCounterAndServiceDate(counter, date)
+            .orElseGet(() -> QueueDepthSnapshot.builder()
+                .counter(counter)
+                .serviceDate(date)
+                .build());
+
+        // A row recorded at another interval cannot be merged slot by slot; replace it
+        byte[] merged = snapshot.getSamples() != null && snapshot.getSampleIntervalSeconds() == sampleIntervalSeconds
+            ? QueueDepthRingBuffer.merge(snapshot.getSamples(), local, sampleIntervalSeconds)
+            : local;
+
+        snapshot.setSampleIntervalSeconds(sampleIntervalSeconds);
+        snapshot.setSampleCount(merged.length / QueueDepthRingBuffer.BYTES_PER_SAMPLE);
+        snapshot.setSamples(merged);
+        snapshotRepository.saveAndFlush(snapshot);
+
+        log.info("Stored {} queue depth samples for Counter {} on {} ({} from this instance)",
+            snapshot.getSampleCount(), counterName, date, buffer.size());
+    }
+}
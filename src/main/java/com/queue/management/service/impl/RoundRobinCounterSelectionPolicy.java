@@ -0,0 +1,22 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.service.CounterSelectionPolicy;
+import org.springframework.stereotype.Component;
+import java.util.function.IntPredicate;
+
+@Component
+public class RoundRobinCounterSelectionPolicy implements CounterSelectionPolicy {
+
+    // Start after the counter used last, skip counters that are not accepting
+    @Override
+    public int select(int counterCount, int lastUsed, IntPredicate accepting) {
+        int start = lastUsed < 0 ? 0 : (lastUsed + 1) % counterCount;
+        for (int i = 0; i < counterCount; i++) {
+            int candidate = (start + i) % counterCount;
+            if (accepting.test(candidate)) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,206 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.dto.request.SimulationRequest;
+import com.queue.management.dto.response.SimulationResultResponse;
+import com.queue.management.entity.ArchivedToken;
+import com.queue.management.entity.CounterBreakLog;
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.entity.Token;
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.SimulationBreakPolicy;
+import com.queue.management.repository.ArchivedTokenRepository;
+import com.queue.management.repository.CounterBreakLogRepository;
+import com.queue.management.repository.ServiceCounterRepository;
+import com.queue.management.repository.TokenRepository;
+import com.queue.management.service.CounterSelectionPolicy;
+import com.queue.management.service.SimulationService;
+import com.queue.management.simulation.QueueSimulator;
+import com.queue.management.simulation.SimulatedArrival;
+import com.queue.management.simulation.SimulatedBreak;
+import com.queue.management.simulation.SimulationOutcome;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SimulationServiceImpl implements SimulationService {
+
+    // Used when a served token has no completion time (e.g. dropped at the counter)
+    private static final long DEFAULT_SERVICE_SECONDS = 5 * 60;
+
+    // Used when a replayed break has neither an end nor an estimate
+    private static final long DEFAULT_BREAK_SECONDS = 15 * 60;
+
+    private static final int HISTOGRAM_BUCKET_MINUTES = 5;
+
+    private final TokenRepository tokenRepository;
+    private final ArchivedTokenRepository archivedTokenRepository;
+    private final CounterBreakLogRepository breakLogRepository;
+    private final ServiceCounterRepository counterRepository;
+    private final CounterSelectionPolicy counterSelectionPolicy;
+
+    @Override
+    @Transactional(readOnly = true)
+    public SimulationResultResponse simulate(SimulationRequest request) {
+        LocalDateTime dayStart = request.getDate().atStartOfDay();
+        LocalDateTime dayEnd = dayStart.plusDays(1).minusNanos(1);
+
+        int counters = request.getCounters() != null
+            ? request.getCounters()
+            : CounterName.values().length;
+
+        int dailyLimit = request.getDailyLimit() != null
+            ? request.getDailyLimit()
+            : counterRepository.findAll().stream()
+                .mapToInt(ServiceCounter::getDailyLimit)
+                .max()
+                .orElse(75);
+
+        SimulationBreakPolicy breakPolicy = request.getBreakPolicy() != null
+            ? request.getBreakPolicy()
+            : SimulationBreakPolicy.REPLAY;
+
+        // ─── Build the arrival trace ──────────────────────────────────────
+        // Past days may already be (partly) archived, so read both tables
+        List<Token> tokens = new ArrayList<>(
+            tokenRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(dayStart, dayEnd));
+        for (ArchivedToken archived : archivedTokenRepository
+                .findByCreatedAtBetweenOrderByCreatedAtAsc(dayStart, dayEnd)) {
+            tokens.add(archived.toToken());
+        }
+        tokens.sort(Comparator.comparing(Token::getCreatedAt));
+
+        long knownServiceTotal = 0;
+        int knownServiceCount = 0;
+        for (Token token : tokens) {
+            if (token.getServedAt() != null && token.getCompletedAt() != null) {
+                knownServiceTotal += Duration.between(token.getServedAt(), token.getCompletedAt()).toSeconds();
+                knownServiceCount++;
+            }
+        }
+        long fallbackService = knownServiceCount > 0
+            ? knownServiceTotal / knownServiceCount
+            : DEFAULT_SERVICE_SECONDS;
+
+        List<SimulatedArrival> arrivals = new ArrayList<>();
+        List<Long> actualWaits = new ArrayList<>();
+        int skipped = 0;
+
+        for (Token token : tokens) {
+            // Never called: cancelled while waiting or rescheduled; no service time to replay
+            if (token.getServedAt() == null) {
+                skipped++;
+                continue;
+            }
+
+            long serviceSeconds = token.getCompletedAt() != null
+                ? Duration.between(token.getServedAt(), token.getCompletedAt()).toSeconds()
+                : fallbackService;
+
+            arrivals.add(new SimulatedArrival(
+                token.getCreatedAt().toLocalTime().toSecondOfDay(),
+                Math.max(serviceSeconds, 0)
+            ));
+            actualWaits.add(Duration.between(token.getCreatedAt(), token.getServedAt()).toSeconds());
+        }
+
+        // ─── Build the break schedule ─────────────────────────────────────
+        List<SimulatedBreak> breaks = new ArrayList<>();
+        if (breakPolicy == SimulationBreakPolicy.REPLAY) {
+            for (CounterBreakLog breakLog : breakLogRepository
+                    .findByBreakStartBetweenOrderByBreakStartAsc(dayStart, dayEnd)) {
+                long start = breakLog.getBreakStart().toLocalTime().toSecondOfDay();
+                long end;
+                if (breakLog.getBreakEnd() != null) {
+                    end = start + Duration.between(breakLog.getBreakStart(), breakLog.getBreakEnd()).toSeconds();
+                } else if (breakLog.getEstimatedDuration() != null) {
+                    end = start + breakLog.getEstimatedDuration() * 60L;
+                } else {
+                    end = start + DEFAULT_BREAK_SECONDS;
+                }
+                breaks.add(new SimulatedBreak(breakLog.getCounter().getName().ordinal(), start, end));
+            }
+        }
+
+        // ─── Run ──────────────────────────────────────────────────────────
+        long startedAt = System.nanoTime();
+        SimulationOutcome outcome = new QueueSimulator(counterSelectionPolicy, counters, dailyLimit)
+            .run(arrivals, breaks);
+        log.info("Simulated {} with {} counters: {} arrivals in {} ms",
+            request.getDate(), counters, arrivals.size(), (System.nanoTime() - startedAt) / 1_000_000);
+
+        List<Long> waits = new ArrayList<>(outcome.waitSeconds());
+        Collections.sort(waits);
+        Collections.sort(actualWaits);
+
+        List<Integer> servedPerCounter = new ArrayList<>();
+        for (int count : outcome.servedPerCounter()) {
+            servedPerCounter.add(count);
+        }
+
+        return SimulationResultResponse.builder()
+            .date(request.getDate())
+            .counters(counters)
+            .dailyLimit(dailyLimit)
+            .breakPolicy(breakPolicy)
+            .arrivals(arrivals.size())
+            .served(waits.size())
+            .rejected(outcome.rejected())
+            .skippedTokens(skipped)
+            .meanWaitMinutes(minutes(mean(waits)))
+            .p50WaitMinutes(minutes(percentile(waits, 0.50)))
+            .p90WaitMinutes(minutes(percentile(waits, 0.90)))
+            .p95WaitMinutes(minutes(percentile(waits, 0.95)))
+            .maxWaitMinutes(minutes(waits.isEmpty() ? 0 : waits.get(waits.size() - 1)))
+            .histogramBucketMinutes(HISTOGRAM_BUCKET_MINUTES)
+            .waitHistogram(histogram(waits))
+            .servedPerCounter(servedPerCounter)
+            .lastCompletion(waits.isEmpty()
+                ? null
+                : LocalTime.ofSecondOfDay(Math.min(outcome.lastEventSecond(), 86399)))
+            .actualMeanWaitMinutes(minutes(mean(actualWaits)))
+            .actualP90WaitMinutes(minutes(percentile(actualWaits, 0.90)))
+            .build();
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private static double mean(List<Long> sorted) {
+        if (sorted.isEmpty()) return 0;
+        long total = 0;
+        for (long value : sorted) total += value;
+        return (double) total / sorted.size();
+    }
+
+    // Nearest-rank percentile over an ascending list
+    private static double percentile(List<Long> sorted, double p) {
+        if (sorted.isEmpty()) return 0;
+        int rank = (int) Math.ceil(p * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+
+    private static List<Integer> histogram(List<Long> sorted) {
+        if (sorted.isEmpty()) return List.of();
+        long bucketSeconds = HISTOGRAM_BUCKET_MINUTES * 60L;
+        int[] buckets = new int[(int) (sorted.get(sorted.size() - 1) / bucketSeconds) + 1];
+        for (long wait : sorted) {
+            buckets[(int) (wait / bucketSeconds)]++;
+        }
+        return Arrays.stream(buckets).boxed().toList();
+    }
+
+    private static double minutes(double seconds) {
+        return Math.round(seconds / 60.0 * 100.0) / 100.0;
+    }
+}
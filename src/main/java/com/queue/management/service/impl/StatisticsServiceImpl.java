@@ -1,15 +1,20 @@
 package com.queue.management.service.impl;
 
 import com.queue.management.entity.ServiceCounter;
-import com.queue.management.entity.Token;
 import com.queue.management.enums.CounterName;
-import com.queue.management.repository.ServiceCounterRepository;
+import com.queue.management.enums.CounterStatus;
+import com.queue.management.repository.ArchivedTokenRepository;
 import com.queue.management.repository.TokenRepository;
+import com.queue.management.repository.projection.ServiceTimeView;
+import com.queue.management.service.BreakAnalyticsService;
+import com.queue.management.service.CounterRegistry;
 import com.queue.management.service.StatisticsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.Duration;
 import java.util.List;
 
@@ -18,8 +23,10 @@ import java.util.List;
 @Slf4j
 public class StatisticsServiceImpl implements StatisticsService {
 
-    private final ServiceCounterRepository counterRepository;
+    private final CounterRegistry counterRegistry;
     private final TokenRepository tokenRepository;
+    private final ArchivedTokenRepository archivedTokenRepository;
+    private final BreakAnalyticsService breakAnalyticsService;
 
     // Default service time if no data available
     private static final double DEFAULT_SERVICE_TIME = 5.0;
@@ -27,20 +34,15 @@ public class StatisticsServiceImpl implements StatisticsService {
 
 
     @Override
+    @Transactional(readOnly = true)
     public double getAverageServiceTime(CounterName counterName) {
         try {
-            // Get counter
-            ServiceCounter counter = counterRepository
-                .findByName(counterName)
-                .orElse(null);
+            // Get counter (registry reference, no query)
+            ServiceCounter counter = counterRegistry.reference(counterName);
 
-            if (counter == null) {
-                return DEFAULT_SERVICE_TIME;
-            }
-
-            // Get last 10 completed tokens
-            List<Token> completedTokens = tokenRepository
-                .findLast10CompletedTokens(counter, LocalDate.now());
+            // Get service times of the last 10 completed tokens
+            List<ServiceTimeView> completedTokens = tokenRepository
+                .findLast10ServiceTimes(counter, LocalDate.now());
 
             // If no completed tokens yet, return default
             if (completedTokens.isEmpty()) {
@@ -51,7 +53,7 @@ public class StatisticsServiceImpl implements StatisticsService {
             double totalMinutes = 0;
             int validCount = 0;
 
-            for (Token token : completedTokens) {
+            for (ServiceTimeView token : completedTokens) {
                 if (token.getServedAt() != null && token.getCompletedAt() != null) {
                     // Calculate duration in minutes
                     Duration duration = Duration.between(
@@ -79,13 +81,17 @@ public class StatisticsServiceImpl implements StatisticsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getEstimatedWaitTime(CounterName counterName, int position) {
         try {
             // Get average service time
             double avgServiceTime = getAverageServiceTime(counterName);
 
-            // Calculate: position × average service time
-            int estimatedMinutes = (int) Math.ceil(position * avgServiceTime);
+            // Calculate: position × average service time,
+            // plus what is left of the break if the counter is on one
+            int estimatedMinutes = (int) Math.ceil(
+                position * avgServiceTime + getRemainingBreakMinutes(counterName)
+            );
 
             log.debug("Estimated wait time for position {} at Counter {}: {} minutes",
                 position, counterName, estimatedMinutes);
@@ -100,6 +106,7 @@ public class StatisticsServiceImpl implements StatisticsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public String getServiceTrend(CounterName counterName) {
         try {
             double currentAverage = getAverageServiceTime(counterName);
@@ -124,20 +131,21 @@ public class StatisticsServiceImpl implements StatisticsService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public double getPreviousAverageServiceTime(CounterName counterName) {
         try {
-            // Get counter
-            ServiceCounter counter = counterRepository
-                .findByName(counterName)
-                .orElse(null);
+            // Get counter (registry reference, no query)
+            ServiceCounter counter = counterRegistry.reference(counterName);
 
-            if (counter == null) {
-                return DEFAULT_SERVICE_TIME;
-            }
+            // Get completed tokens from yesterday (from the archive once the day was moved)
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            List<ServiceTimeView> yesterdayTokens = tokenRepository
+                .findLast10ServiceTimes(counter, yesterday);
 
-            // Get completed tokens from yesterday
-            List<Token> yesterdayTokens = tokenRepository
-                .findLast10CompletedTokens(counter, LocalDate.now().minusDays(1));
+            if (yesterdayTokens.isEmpty()) {
+                yesterdayTokens = archivedTokenRepository
+                    .findLast10ServiceTimes(counter, yesterday);
+            }
 
             if (yesterdayTokens.isEmpty()) {
                 return DEFAULT_SERVICE_TIME;
@@ -147,7 +155,7 @@ public class StatisticsServiceImpl implements StatisticsService {
             double totalMinutes = 0;
             int validCount = 0;
 
-            for (Token token : yesterdayTokens) {
+            for (ServiceTimeView token : yesterdayTokens) {
                 if (token.getServedAt() != null && token.getCompletedAt() != null) {
                     Duration duration = Duration.between(
                         token.getServedAt(),
@@ -169,4 +177,19 @@ public class StatisticsServiceImpl implements StatisticsService {
             return DEFAULT_SERVICE_TIME;
         }
     }
-}
\ No newline at end of file
+
+    // Minutes until a counter on break is expected to resume
+    // Uses the announced duration corrected by how long breaks really take
+    private double getRemainingBreakMinutes(CounterName counterName) {
+        CounterRegistry.CounterSnapshot counter = counterRegistry.get(counterName);
+
+        if (counter.status() != CounterStatus.ON_BREAK
+                || counter.breakStartedAt() == null) {
+            return 0;
+        }
+
+        double expected = breakAnalyticsService.getExpectedBreakMinutes(counter.estimatedBreakDuration());
+        double elapsed = Duration.between(counter.breakStartedAt(), LocalDateTime.now()).toMinutes();
+        return Math.max(0, expected - elapsed);
+    }
+}
@@ -0,0 +1,74 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.repository.ArchivedTokenRepository;
+import com.queue.management.repository.TokenRepository;
+import com.queue.management.service.TokenArchiveService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenArchiveServiceImpl implements TokenArchiveService {
+
+    private final TokenRepository tokenRepository;
+    private final ArchivedTokenRepository archivedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // Service dates kept in tokens besides today (1 = yesterday stays hot)
+    @Value("${app.archive.hot-days:1}")
+    private int hotDays;
+
+    // Tokens moved per transaction; keeps row locks and undo log small
+    @Value("${app.archive.chunk-size:1000}")
+    private int chunkSize;
+
+    @Override
+    @Scheduled(cron = "${app.archive.cron:0 30 2 * * *}")
+    public int archiveClosedDays() {
+        LocalDate cutoff = LocalDate.now().minusDays(hotDays);
+        int total = 0;
+
+        try {
+            while (true) {
+                Integer moved = transactionTemplate.execute(status -> moveChunk(cutoff));
+                if (moved == null || moved == 0) break;
+                total += moved;
+                if (moved < chunkSize) break;
+            }
+        } catch (Exception e) {
+            // Committed chunks stay archived; the rest is picked up by the next run
+            log.error("Token archival stopped after {} tokens", total, e);
+            return total;
+        }
+
+        if (total > 0) {
+            log.info("Archived {} tokens with service date before {}", total, cutoff);
+        }
+        return total;
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    // Copy one chunk to the archive and delete it from tokens, atomically
+    private int moveChunk(LocalDate cutoff) {
+        // FOR UPDATE SKIP LOCKED: a second instance running the job takes other rows instead of waiting
+        List<Long> ids = tokenRepository.lockIdsToArchive(cutoff, chunkSize);
+        if (ids.isEmpty()) return 0;
+
+        int copied = archivedTokenRepository.copyFromTokens(ids);
+        int deleted = tokenRepository.deleteByIds(ids);
+
+        if (copied != deleted) {
+            throw new IllegalStateException(
+                "Archived " + copied + " tokens but deleted " + deleted);
+        }
+        return deleted;
+    }
+}
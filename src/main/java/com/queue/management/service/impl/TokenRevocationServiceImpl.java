@@ -0,0 +1,225 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.entity.RevokedToken;
+import com.queue.management.repository.RevokedTokenRepository;
+import com.queue.management.security.JwtClaims;
+import com.queue.management.service.TokenRevocationService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps every live revocation in memory so the per-request check never touches
+ * the database: a Bloom filter answers "not revoked" for almost every token,
+ * the exact jti set confirms the rare "maybe", and user-wide revocations are a
+ * single map lookup. Rows are written to revoked_tokens so revocations survive
+ * restarts and reach other instances on the next sync.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TokenRevocationServiceImpl implements TokenRevocationService {
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    // Sizing of the Bloom filter; past this many live revocations false positives rise
+    @Value("${app.revocation.expected-revocations:10000}")
+    private int expectedRevocations;
+
+    @Value("${app.revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // Each sync re-reads rows created this long before the previous one, so a row that
+    // committed after a higher id (or on an instance with a skewed clock) is still seen
+    @Value("${app.revocation.sync-overlap-seconds:120}")
+    private long syncOverlapSeconds;
+
+    private record State(RevocationBloomFilter filter,
+                         Set<String> revokedJtis,
+                         Map<String, Long> revokedBefore) {}
+
+    // Replaced as a whole, fully built, on rebuild; writers mutate it under the lock
+    private volatile State state;
+
+    private final Object lock = new Object();
+
+    // Highest revoked_tokens.id read back from the database. Local writes do not
+    // advance it, so lower ids inserted concurrently by other instances are not skipped.
+    private long lastSeenId;
+
+    // When the previous read of revoked_tokens started
+    private LocalDateTime lastSyncAt = LocalDateTime.now();
+
+    @PostConstruct
+    void init() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            state = emptyState();
+            log.warn("Could not load token revocations: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public boolean isRevoked(JwtClaims claims) {
+        State current = state;
+
+        Long before = current.revokedBefore().get(claims.getUsername());
+        if (before != null && claims.getIssuedAt() != null
+                && claims.getIssuedAt().getTime() < before) {
+            return true;
+        }
+
+        String jti = claims.getTokenId();
+        return jti != null
+                && current.filter().mightContain(jti)
+                && current.revokedJtis().contains(jti);
+    }
+
+    @Override
+    public boolean isIssuedInRevocationSecond(JwtClaims claims) {
+        Long before = state.revokedBefore().get(claims.getUsername());
+        if (before == null || claims.getIssuedAt() == null) return false;
+
+        long issuedAt = claims.getIssuedAt().getTime();
+        return issuedAt >= before && issuedAt < before + 1000;
+    }
+
+    @Override
+    public void revokeToken(JwtClaims claims) {
+        if (claims.getTokenId() == null) {
+            throw new RuntimeException("This token cannot be revoked, please log in again!");
+        }
+
+        RevokedToken revoked = revokedTokenRepository.save(RevokedToken.builder()
+                .jti(claims.getTokenId())
+                .subject(claims.getUsername())
+                .expiresAt(toLocalDateTime(claims.getExpiration()))
+                .build());
+
+        apply(revoked);
+        log.info("Token revoked for {}", claims.getUsername());
+    }
+
+    @Override
+    public void revokeAllForSubject(String subject) {
+        LocalDateTime now = LocalDateTime.now();
+
+        RevokedToken revoked = revokedTokenRepository.save(RevokedToken.builder()
+                .subject(subject)
+                .revokedBefore(now)
+                .expiresAt(now.plusNanos(jwtExpiration * 1_000_000))
+                .build());
+
+        apply(revoked);
+        log.info("All tokens revoked for {}", subject);
+    }
+
+    @Override
+    @Transactional
+    @Scheduled(cron = "${app.revocation.purge-cron:0 0 * * * *}")
+    public void purgeExpired() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+        if (deleted > 0) {
+            rebuild();
+            log.info("Purged {} expired token revocations", deleted);
+        }
+    }
+
+    // Pick up revocations written by other instances. Ids are assigned at insert but
+    // rows become visible at commit, so a lower id can appear after a higher one: besides
+    // new ids, re-read a trailing window by creation time. Applying a row twice is harmless.
+    @Scheduled(fixedDelayString = "${app.revocation.sync-seconds:30}",
+               initialDelayString = "${app.revocation.sync-seconds:30}",
+               timeUnit = TimeUnit.SECONDS)
+    public void syncFromDatabase() {
+        try {
+            long from;
+            LocalDateTime since;
+            LocalDateTime startedAt = LocalDateTime.now();
+            synchronized (lock) {
+                from = lastSeenId;
+                since = lastSyncAt.minusSeconds(syncOverlapSeconds);
+            }
+            List<RevokedToken> rows = revokedTokenRepository
+                    .findByIdGreaterThanOrCreatedAtGreaterThanEqualOrderByIdAsc(from, since);
+            synchronized (lock) {
+                for (RevokedToken revoked : rows) {
+                    applyLocked(state, revoked);
+                    lastSeenId = Math.max(lastSeenId, revoked.getId());
+                }
+                lastSyncAt = startedAt;
+            }
+        } catch (Exception e) {
+            log.error("Error syncing token revocations", e);
+        }
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    // Readers keep using the old state until the new one is complete
+    private void rebuild() {
+        synchronized (lock) {
+            LocalDateTime startedAt = LocalDateTime.now();
+            List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfterOrderByIdAsc(startedAt);
+
+            State fresh = emptyState();
+            for (RevokedToken revoked : live) {
+                applyLocked(fresh, revoked);
+                lastSeenId = Math.max(lastSeenId, revoked.getId());
+            }
+            state = fresh;
+            lastSyncAt = startedAt;
+            log.info("Loaded {} token revocations", live.size());
+        }
+    }
+
+    private void apply(RevokedToken revoked) {
+        synchronized (lock) {
+            applyLocked(state, revoked);
+        }
+    }
+
+    private void applyLocked(State target, RevokedToken revoked) {
+        if (revoked.getJti() != null) {
+            target.revokedJtis().add(revoked.getJti());
+            target.filter().add(revoked.getJti());
+        }
+        if (revoked.getRevokedBefore() != null) {
+            // Token iat has second precision: compare against the start of the revocation's second,
+            // so a re-login right after a password change keeps working. Older tokens from that
+            // same second still carry the previous credential version and are rejected by it.
+            long before = revoked.getRevokedBefore().truncatedTo(ChronoUnit.SECONDS)
+                    .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+            target.revokedBefore().merge(revoked.getSubject(), before, Math::max);
+        }
+    }
+
+    private State emptyState() {
+        return new State(
+                new RevocationBloomFilter(expectedRevocations, falsePositiveRate),
+                ConcurrentHashMap.newKeySet(),
+                new ConcurrentHashMap<>()
+        );
+    }
+
+    private static LocalDateTime toLocalDateTime(Date date) {
+        return LocalDateTime.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+}
@@ -3,20 +3,25 @@ package com.queue.management.service.impl;
 import com.queue.management.dto.response.TokenHistoryResponse;
 import com.queue.management.dto.response.TokenNotification;
 import com.queue.management.dto.response.TokenResponse;
+import com.queue.management.entity.ArchivedToken;
 import com.queue.management.entity.DailyCounterState;
 import com.queue.management.entity.QueueRotationState;
 import com.queue.management.entity.ServiceCounter;
 import com.queue.management.entity.Student;
 import com.queue.management.entity.Token;
 import com.queue.management.enums.CounterName;
-import com.queue.management.enums.CounterStatus;
 import com.queue.management.enums.NotificationType;
 import com.queue.management.enums.TokenStatus;
+import com.queue.management.repository.ArchivedTokenRepository;
 import com.queue.management.repository.DailyCounterStateRepository;
 import com.queue.management.repository.QueueRotationStateRepository;
-import com.queue.management.repository.ServiceCounterRepository;
 import com.queue.management.repository.StudentRepository;
 import com.queue.management.repository.TokenRepository;
+import com.queue.management.repository.projection.QueueEntryView;
+import com.queue.management.repository.projection.TokenSummaryView;
+import com.queue.management.service.ArrivalForecastService;
+import com.queue.management.service.CounterRegistry;
+import com.queue.management.service.CounterSelectionPolicy;
 import com.queue.management.service.NotificationService;
 import com.queue.management.service.StatisticsService;
 import com.queue.management.service.TokenService;
@@ -32,6 +37,7 @@ import java.util.ArrayList;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
@@ -39,13 +45,16 @@ import java.util.Optional;
 public class TokenServiceImpl implements TokenService {
 
     private final TokenRepository tokenRepository;
+    private final ArchivedTokenRepository archivedTokenRepository;
     private final StudentRepository studentRepository;
-    private final ServiceCounterRepository counterRepository;
+    private final CounterRegistry counterRegistry;
     private final DailyCounterStateRepository dailyCounterStateRepository;
     private final QueueRotationStateRepository queueRotationStateRepository;
     private final ValidationService validationService;
     private final StatisticsService statisticsService;
     private final NotificationService notificationService;
+    private final ArrivalForecastService arrivalForecastService;
+    private final CounterSelectionPolicy counterSelectionPolicy;
 
     @Override
     @Transactional
@@ -58,19 +67,19 @@ public class TokenServiceImpl implements TokenService {
             );
         }
 
-        CounterName selectedCounter = selectCounter();
+        CounterName[] counters = CounterName.values();
+        int selected = counterSelectionPolicy.select(
+            counters.length,
+            lastUsedCounterIndex(),
+            i -> validationService.isCounterAcceptingTokens(counters[i])
+        );
 
-        if (!validationService.isCounterAcceptingTokens(selectedCounter)) {
-            CounterName otherCounter = selectedCounter == CounterName.A ? CounterName.B : CounterName.A;
-            if (!validationService.isCounterAcceptingTokens(otherCounter)) {
-                throw new RuntimeException("No counters available right now!");
-            }
-            selectedCounter = otherCounter;
+        if (selected < 0) {
+            throw new RuntimeException("No counters available right now!");
         }
+        CounterName selectedCounter = counters[selected];
 
-        ServiceCounter counter = counterRepository
-            .findByName(selectedCounter)
-            .orElseThrow(() -> new RuntimeException("Counter not found!"));
+        ServiceCounter counter = counterRegistry.reference(selectedCounter);
 
         Student student = studentRepository
             .findByRollNumber(rollNumber)
@@ -90,6 +99,7 @@ public class TokenServiceImpl implements TokenService {
 
         tokenRepository.save(token);
         updateRotationState(counter.getId());
+        arrivalForecastService.recordArrival(selectedCounter, token.getCreatedAt());
 
         log.info("Token generated: {} for student: {}", tokenCode, rollNumber);
 
@@ -103,9 +113,10 @@ public class TokenServiceImpl implements TokenService {
     }
 
     @Override
+    @Transactional(readOnly = true)
     public TokenResponse getMyToken(String rollNumber) {
-        Token token = tokenRepository
-            .findTopByStudent_RollNumberAndStatusInOrderByCreatedAtDesc(
+        TokenSummaryView token = tokenRepository
+            .findLatestTokenSummary(
                 rollNumber,
                 EnumSet.of(TokenStatus.WAITING, TokenStatus.SERVING, TokenStatus.RESCHEDULED)
             )
@@ -118,29 +129,27 @@ public class TokenServiceImpl implements TokenService {
     @Transactional
     public void cancelToken(String rollNumber) {
         // Allow cancelling WAITING or SERVING tokens (per spec)
-        Token waitingToken = tokenRepository
-            .findByStudent_RollNumberAndStatusAndServiceDate(rollNumber, TokenStatus.WAITING, LocalDate.now())
-            .orElse(null);
+        TokenSummaryView token = tokenRepository
+            .findTokenSummaryForDate(
+                rollNumber, EnumSet.of(TokenStatus.WAITING, TokenStatus.SERVING), LocalDate.now()
+            )
+            .orElseThrow(() -> new RuntimeException(
+                "No cancellable token found! Only WAITING or SERVING tokens can be cancelled."
+            ));
 
+        // Try WAITING first, then SERVING, so we know which one we actually dropped
+        // even if a desk called the token in between
         final boolean wasServing;
-        final Token token;
-        if (waitingToken != null) {
-            token = waitingToken;
+        if (transition(token.getTokenId(), TokenStatus.WAITING, TokenStatus.DROPPED)) {
             wasServing = false;
-        } else {
-            token = tokenRepository
-                .findByStudent_RollNumberAndStatusAndServiceDate(rollNumber, TokenStatus.SERVING, LocalDate.now())
-                .orElseThrow(() -> new RuntimeException(
-                    "No cancellable token found! Only WAITING or SERVING tokens can be cancelled."
-                ));
+        } else if (transition(token.getTokenId(), TokenStatus.SERVING, TokenStatus.DROPPED)) {
             wasServing = true;
+        } else {
+            throw new RuntimeException("Token " + token.getTokenCode() + " can no longer be cancelled!");
         }
 
-        ServiceCounter counter = token.getCounter();
-        CounterName counterName = counter.getName();
-
-        token.setStatus(TokenStatus.DROPPED);
-        tokenRepository.save(token);
+        CounterName counterName = token.getCounterName();
+        ServiceCounter counter = counterRegistry.reference(counterName);
 
         log.info("Token cancelled: {} by student: {} (was {})",
             token.getTokenCode(), rollNumber, wasServing ? "SERVING" : "WAITING");
@@ -155,42 +164,38 @@ public class TokenServiceImpl implements TokenService {
         );
 
         // If the student cancelled while being served, notify waiting students and
-        // auto-call the next token so the counter is not left idle
+        // auto-call the next token for the desk that was serving them
         if (wasServing) {
             sendCompletionAlerts(counter, counterName);
-            autoCallNext(counter, counterName);
+            tokenRepository.findServedBy(token.getTokenId())
+                .ifPresent(staffId -> autoCallNext(counter, counterName, staffId));
         }
     }
 
     @Override
     @Transactional
-    public TokenResponse callNextToken(CounterName counterName) {
+    public TokenResponse callNextToken(CounterName counterName, String staffId) {
 
-        ServiceCounter counter = counterRepository
-            .findByName(counterName)
-            .orElseThrow(() -> new RuntimeException("Counter not found!"));
-
-        if (counter.getStatus() != CounterStatus.ACTIVE) {
+        if (!counterRegistry.get(counterName).isActive()) {
             throw new RuntimeException("Counter " + counterName + " is not active!");
         }
 
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, LocalDate.now()
-            );
+        ServiceCounter counter = counterRegistry.reference(counterName);
 
-        if (waitingTokens.isEmpty()) {
-            throw new RuntimeException("No waiting tokens for Counter " + counterName);
-        }
+        // One token per desk; a second terminal for the same staff must not call another
+        tokenRepository.findServingEntryForDesk(counter, LocalDate.now(), staffId)
+            .ifPresent(serving -> {
+                throw new RuntimeException("This desk is already serving " + serving.getTokenCode()
+                    + ". Complete or drop it first!");
+            });
 
-        Token nextToken = waitingTokens.get(0);
-        nextToken.setStatus(TokenStatus.SERVING);
-        nextToken.setServedAt(LocalDateTime.now());
-        tokenRepository.save(nextToken);
+        TokenSummaryView nextToken = claimNextWaiting(counter, staffId)
+            .orElseThrow(() -> new RuntimeException("No waiting tokens for Counter " + counterName));
 
-        log.info("Calling next token: {}", nextToken.getTokenCode());
+        log.info("Calling next token: {} for desk: {}", nextToken.getTokenCode(), staffId);
 
-        List<Token> remainingWaiting = waitingTokens.subList(1, waitingTokens.size());
+        List<QueueEntryView> remainingWaiting = tokenRepository
+            .findQueueEntries(counter, TokenStatus.WAITING, LocalDate.now());
 
         notificationService.notifyQueueUpdate(
             nextToken.getTokenCode(), counterName, TokenStatus.SERVING,
@@ -198,27 +203,21 @@ public class TokenServiceImpl implements TokenService {
             "Counter " + counterName + " is now serving " + nextToken.getTokenCode()
         );
 
-        sendPositionalNotifications(nextToken, remainingWaiting, counterName);
+        sendPositionalNotifications(nextToken.getTokenCode(), remainingWaiting, counterName);
 
-        return buildTokenResponse(nextToken, nextToken.getStudent().getRollNumber());
+        // SERVING, so there is no queue position to compute
+        return buildTokenResponse(nextToken, null);
     }
 
     @Override
     @Transactional
-    public TokenResponse completeToken(CounterName counterName) {
+    public TokenResponse completeToken(CounterName counterName, String staffId) {
 
-        ServiceCounter counter = counterRepository
-            .findByName(counterName)
-            .orElseThrow(() -> new RuntimeException("Counter not found!"));
+        ServiceCounter counter = counterRegistry.reference(counterName);
 
-        Token servingToken = tokenRepository
-            .findTopByCounterAndStatusAndServiceDateOrderByServedAtDesc(
-                counter, TokenStatus.SERVING, LocalDate.now())
-            .orElseThrow(() -> new RuntimeException("No token currently being served!"));
+        QueueEntryView servingToken = servingEntryFor(counter, staffId);
 
-        servingToken.setStatus(TokenStatus.COMPLETED);
-        servingToken.setCompletedAt(LocalDateTime.now());
-        tokenRepository.save(servingToken);
+        requireTransition(servingToken, TokenStatus.COMPLETED);
 
         log.info("Token completed: {}", servingToken.getTokenCode());
 
@@ -232,26 +231,20 @@ public class TokenServiceImpl implements TokenService {
         );
 
         // Auto-call next token
-        autoCallNext(counter, counterName);
+        autoCallNext(counter, counterName, staffId);
 
-        return buildTokenResponse(servingToken, null);
+        return buildTokenResponse(getTokenSummary(servingToken.getTokenId()), null);
     }
 
     @Override
     @Transactional
-    public TokenResponse dropToken(CounterName counterName) {
+    public TokenResponse dropToken(CounterName counterName, String staffId) {
 
-        ServiceCounter counter = counterRepository
-            .findByName(counterName)
-            .orElseThrow(() -> new RuntimeException("Counter not found!"));
+        ServiceCounter counter = counterRegistry.reference(counterName);
 
-        Token servingToken = tokenRepository
-            .findTopByCounterAndStatusAndServiceDateOrderByServedAtDesc(
-                counter, TokenStatus.SERVING, LocalDate.now())
-            .orElseThrow(() -> new RuntimeException("No token currently being served!"));
+        QueueEntryView servingToken = servingEntryFor(counter, staffId);
 
-        servingToken.setStatus(TokenStatus.DROPPED);
-        tokenRepository.save(servingToken);
+        requireTransition(servingToken, TokenStatus.DROPPED);
 
         log.info("Token dropped: {}", servingToken.getTokenCode());
 
@@ -263,37 +256,29 @@ public class TokenServiceImpl implements TokenService {
             "Token " + servingToken.getTokenCode() + " dropped at Counter " + counterName
         );
 
-        autoCallNext(counter, counterName);
+        autoCallNext(counter, counterName, staffId);
 
-        return buildTokenResponse(servingToken, null);
+        return buildTokenResponse(getTokenSummary(servingToken.getTokenId()), null);
     }
 
     @Override
+    @Transactional(readOnly = true)
     public int getQueuePosition(String rollNumber) {
-        Token myToken = tokenRepository
-            .findByStudent_RollNumberAndStatusAndServiceDate(
-                rollNumber, TokenStatus.WAITING, LocalDate.now()
-            )
-            .orElse(null);
-
-        if (myToken == null) return 0;
-
-        List<Token> waitingTokens = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                myToken.getCounter(), TokenStatus.WAITING, LocalDate.now()
-            );
-
-        int position = 0;
-        for (Token token : waitingTokens) {
-            if (token.getTokenNumber() < myToken.getTokenNumber()) position++;
-        }
-        return position;
+        // Counted in the database; 0 when the student has no WAITING token
+        return (int) tokenRepository.countWaitingAhead(rollNumber, LocalDate.now());
     }
 
     @Override
+    @Transactional(readOnly = true)
     public List<TokenHistoryResponse> getTokenHistory(String rollNumber) {
-        List<Token> tokens = tokenRepository
-            .findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc(rollNumber);
+        List<Token> tokens = new ArrayList<>(tokenRepository
+            .findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc(rollNumber));
+
+        // Archived days are all older than the hot ones, so they simply follow
+        for (ArchivedToken archived : archivedTokenRepository
+                .findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc(rollNumber)) {
+            tokens.add(archived.toToken());
+        }
 
         List<TokenHistoryResponse> history = new ArrayList<>();
         for (Token token : tokens) {
@@ -326,25 +311,18 @@ public class TokenServiceImpl implements TokenService {
 
     // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
 
-    private void autoCallNext(ServiceCounter counter, CounterName counterName) {
-        List<Token> waiting = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, LocalDate.now()
-            );
+    private void autoCallNext(ServiceCounter counter, CounterName counterName, String staffId) {
+        TokenSummaryView nextToken = claimNextWaiting(counter, staffId).orElse(null);
 
-        if (waiting.isEmpty()) {
+        if (nextToken == null) {
             log.info("No more waiting tokens for Counter {}", counterName);
             return;
         }
 
-        Token nextToken = waiting.get(0);
-        nextToken.setStatus(TokenStatus.SERVING);
-        nextToken.setServedAt(LocalDateTime.now());
-        tokenRepository.save(nextToken);
-
         log.info("Auto-called next token: {}", nextToken.getTokenCode());
 
-        List<Token> remainingWaiting = waiting.subList(1, waiting.size());
+        List<QueueEntryView> remainingWaiting = tokenRepository
+            .findQueueEntries(counter, TokenStatus.WAITING, LocalDate.now());
 
         notificationService.notifyQueueUpdate(
             nextToken.getTokenCode(), counterName, TokenStatus.SERVING,
@@ -352,24 +330,83 @@ public class TokenServiceImpl implements TokenService {
             "Counter " + counterName + " auto-called " + nextToken.getTokenCode()
         );
 
-        sendPositionalNotifications(nextToken, remainingWaiting, counterName);
+        sendPositionalNotifications(nextToken.getTokenCode(), remainingWaiting, counterName);
+    }
+
+    // The token this desk called; failing that, the counter's only SERVING token
+    // (called before served_by was recorded, or by a colleague this desk took over from)
+    private QueueEntryView servingEntryFor(ServiceCounter counter, String staffId) {
+        LocalDate today = LocalDate.now();
+        return tokenRepository.findServingEntryForDesk(counter, today, staffId)
+            .or(() -> tokenRepository.countByCounterAndStatusAndServiceDate(counter, TokenStatus.SERVING, today) == 1
+                ? tokenRepository.findLatestServedEntry(counter, TokenStatus.SERVING, today)
+                : Optional.empty())
+            .orElseThrow(() -> new RuntimeException("No token currently being served at this desk!"));
+    }
+
+    // Lock the head of the queue (skipping tokens other callers hold) and mark it SERVING.
+    // The row lock is held until commit, so no two call-next requests serve the same token.
+    // The token is bound to the claiming desk, which later completes or drops it.
+    private Optional<TokenSummaryView> claimNextWaiting(ServiceCounter counter, String staffId) {
+        return tokenRepository.claimNextWaitingId(counter.getId(), LocalDate.now())
+            .map(tokenId -> {
+                if (!transition(tokenId, null, TokenStatus.SERVING, staffId)) {
+                    throw new RuntimeException("Token " + tokenId + " could not be called!");
+                }
+                return getTokenSummary(tokenId);
+            });
+    }
+
+    // Conditional UPDATE: applies only while the token is in a status allowed to move to
+    // newStatus (restricted to fromStatus when given). False if it has already moved on.
+    // Stamps servedAt/completedAt/droppedAt to match the new status.
+    private boolean transition(Long tokenId, TokenStatus fromStatus, TokenStatus newStatus) {
+        return transition(tokenId, fromStatus, newStatus, null);
+    }
+
+    // servedBy is recorded when given (the desk claiming the token)
+    private boolean transition(Long tokenId, TokenStatus fromStatus, TokenStatus newStatus, String servedBy) {
+        Set<TokenStatus> fromStatuses = EnumSet.noneOf(TokenStatus.class);
+        fromStatuses.addAll(validationService.getAllowedPredecessors(newStatus));
+        if (fromStatus != null) fromStatuses.retainAll(EnumSet.of(fromStatus));
+        if (fromStatuses.isEmpty()) return false;
+
+        LocalDateTime now = LocalDateTime.now();
+        return tokenRepository.transitionStatus(
+            tokenId, fromStatuses, newStatus,
+            newStatus == TokenStatus.SERVING ? now : null,
+            servedBy,
+            newStatus == TokenStatus.COMPLETED ? now : null,
+            newStatus == TokenStatus.DROPPED ? now : null) == 1;
     }
 
-    private void sendPositionalNotifications(Token calledToken, List<Token> remainingWaiting,
+    // Same, but the token is expected to still be SERVING (complete/drop)
+    private void requireTransition(QueueEntryView token, TokenStatus newStatus) {
+        if (!transition(token.getTokenId(), TokenStatus.SERVING, newStatus)) {
+            throw new RuntimeException("Token " + token.getTokenCode() + " is no longer being served!");
+        }
+    }
+
+    private TokenSummaryView getTokenSummary(Long tokenId) {
+        return tokenRepository.findTokenSummaryById(tokenId)
+            .orElseThrow(() -> new RuntimeException("Token not found: " + tokenId));
+    }
+
+    private void sendPositionalNotifications(String calledTokenCode, List<QueueEntryView> remainingWaiting,
                                               CounterName counterName) {
         if (remainingWaiting.isEmpty()) return;
 
         // First in remaining queue → YOUR_TURN
-        Token nextInLine = remainingWaiting.get(0);
+        QueueEntryView nextInLine = remainingWaiting.get(0);
         notificationService.notifyStudent(
-            nextInLine.getStudent().getRollNumber(),
+            nextInLine.getRollNumber(),
             TokenNotification.builder()
                 .type(NotificationType.YOUR_TURN)
                 .tokenCode(nextInLine.getTokenCode())
                 .counterName(counterName)
                 .status(TokenStatus.WAITING)
                 .waitingCount(remainingWaiting.size())
-                .currentlyServing(calledToken.getTokenCode())
+                .currentlyServing(calledTokenCode)
                 .yourPosition(0)
                 .message("You're next! Please head to Counter " + counterName)
                 .build()
@@ -377,16 +414,16 @@ public class TokenServiceImpl implements TokenService {
 
         // Positions 1-3 → POSITION_ALERT (entered next 4 zone)
         for (int i = 1; i < Math.min(4, remainingWaiting.size()); i++) {
-            Token t = remainingWaiting.get(i);
+            QueueEntryView t = remainingWaiting.get(i);
             notificationService.notifyStudent(
-                t.getStudent().getRollNumber(),
+                t.getRollNumber(),
                 TokenNotification.builder()
                     .type(NotificationType.POSITION_ALERT)
                     .tokenCode(t.getTokenCode())
                     .counterName(counterName)
                     .status(TokenStatus.WAITING)
                     .waitingCount(remainingWaiting.size())
-                    .currentlyServing(calledToken.getTokenCode())
+                    .currentlyServing(calledTokenCode)
                     .yourPosition(i)
                     .message("Your turn is coming soon! You're within the next 4 in queue.")
                     .build()
@@ -395,15 +432,13 @@ public class TokenServiceImpl implements TokenService {
     }
 
     private void sendCompletionAlerts(ServiceCounter counter, CounterName counterName) {
-        List<Token> waitingNow = tokenRepository
-            .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
-                counter, TokenStatus.WAITING, LocalDate.now()
-            );
+        List<QueueEntryView> waitingNow = tokenRepository
+            .findQueueEntries(counter, TokenStatus.WAITING, LocalDate.now());
 
         for (int i = 0; i < Math.min(5, waitingNow.size()); i++) {
-            Token t = waitingNow.get(i);
+            QueueEntryView t = waitingNow.get(i);
             notificationService.notifyStudent(
-                t.getStudent().getRollNumber(),
+                t.getRollNumber(),
                 TokenNotification.builder()
                     .type(NotificationType.TOKEN_COMPLETED_AHEAD)
                     .tokenCode(t.getTokenCode())
@@ -418,16 +453,17 @@ public class TokenServiceImpl implements TokenService {
         }
     }
 
-    private CounterName selectCounter() {
+    // Index (CounterName ordinal) of the counter that received the last token today, -1 if none
+    private int lastUsedCounterIndex() {
         LocalDate today = LocalDate.now();
         Optional<QueueRotationState> rotationOpt =
             queueRotationStateRepository.findByServiceDate(today);
 
-        if (rotationOpt.isEmpty()) return CounterName.A;
+        if (rotationOpt.isEmpty()) return -1;
 
-        Long lastUsedCounterId = rotationOpt.get().getLastUsedCounterId();
-        ServiceCounter counterA = counterRepository.findByName(CounterName.A).orElseThrow();
-        return lastUsedCounterId.equals(counterA.getId()) ? CounterName.B : CounterName.A;
+        CounterRegistry.CounterSnapshot lastUsed =
+            counterRegistry.findById(rotationOpt.get().getLastUsedCounterId());
+        return lastUsed != null ? lastUsed.name().ordinal() : -1;
     }
 
     @Transactional
@@ -462,15 +498,15 @@ public class TokenServiceImpl implements TokenService {
     }
 
     private int countWaiting(ServiceCounter counter) {
-        return tokenRepository.findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(
+        return (int) tokenRepository.countByCounterAndStatusAndServiceDate(
             counter, TokenStatus.WAITING, LocalDate.now()
-        ).size();
+        );
     }
 
     private String currentlyServing(ServiceCounter counter) {
-        return tokenRepository.findTopByCounterAndStatusAndServiceDateOrderByServedAtDesc(
+        return tokenRepository.findLatestServedEntry(
             counter, TokenStatus.SERVING, LocalDate.now()
-        ).map(Token::getTokenCode).orElse(null);
+        ).map(QueueEntryView::getTokenCode).orElse(null);
     }
 
     private TokenResponse buildTokenResponse(Token token, String rollNumber) {
@@ -499,4 +535,32 @@ public class TokenServiceImpl implements TokenService {
             .isRescheduled(token.getIsRescheduled())
             .build();
     }
+
+    // Same response built from a projection (no Token/Counter entities loaded)
+    private TokenResponse buildTokenResponse(TokenSummaryView token, String rollNumber) {
+        int position = 0;
+        int estimatedWaitTime = 0;
+
+        if (token.getStatus() == TokenStatus.WAITING && rollNumber != null) {
+            position = getQueuePosition(rollNumber);
+            estimatedWaitTime = statisticsService.getEstimatedWaitTime(
+                token.getCounterName(), position
+            );
+        }
+
+        return TokenResponse.builder()
+            .id(token.getTokenId())
+            .tokenCode(token.getTokenCode())
+            .tokenNumber(token.getTokenNumber())
+            .counterName(token.getCounterName())
+            .status(token.getStatus())
+            .serviceDate(token.getServiceDate())
+            .position(position)
+            .estimatedWaitTime(estimatedWaitTime)
+            .createdAt(token.getCreatedAt())
+            .servedAt(token.getServedAt())
+            .completedAt(token.getCompletedAt())
+            .isRescheduled(token.getIsRescheduled())
+            .build();
+    }
 }
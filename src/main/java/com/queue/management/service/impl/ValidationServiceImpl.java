@@ -1,25 +1,24 @@
 package com.queue.management.service.impl;
 
-import com.queue.management.entity.ServiceCounter;
 import com.queue.management.enums.CounterName;
-import com.queue.management.enums.CounterStatus;
 import com.queue.management.enums.TokenStatus;
-import com.queue.management.repository.ServiceCounterRepository;
 import com.queue.management.repository.TokenRepository;
+import com.queue.management.service.CounterRegistry;
 import com.queue.management.service.ValidationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.EnumSet;
-import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ValidationServiceImpl implements ValidationService {
 
-    // Inject repositories
-    private final ServiceCounterRepository counterRepository;
+    // Inject repositories and the counter registry
+    private final CounterRegistry counterRegistry;
     private final TokenRepository tokenRepository;
 
     // Working hours constants
@@ -51,6 +50,13 @@ public class ValidationServiceImpl implements ValidationService {
         return !now.isBefore(BREAK_START) && !now.isAfter(BREAK_END);
     }
 
+    @Override
+    public int getServiceMinutesPerDay() {
+        long open = Duration.between(COUNTER_START, COUNTER_END).toMinutes();
+        long lunch = Duration.between(BREAK_START, BREAK_END).toMinutes();
+        return (int) (open - lunch);
+    }
+
     @Override
     public boolean canStudentGenerateToken(String rollNumber) {
 
@@ -72,25 +78,24 @@ public class ValidationServiceImpl implements ValidationService {
     @Override
     public boolean isCounterAcceptingTokens(CounterName counterName) {
 
-        // Find the counter
-        Optional<ServiceCounter> counterOpt = counterRepository.findByName(counterName);
-
-        if (counterOpt.isEmpty()) {
+        // Find the counter (in-memory snapshot, no query)
+        CounterRegistry.CounterSnapshot counter;
+        try {
+            counter = counterRegistry.get(counterName);
+        } catch (RuntimeException e) {
             return false;
         }
 
-        ServiceCounter counter = counterOpt.get();
-
         // Check counter status
-        if (counter.getStatus() != CounterStatus.ACTIVE) {
+        if (!counter.isActive()) {
             return false;
         }
 
         // Check daily limit
         long tokensToday = tokenRepository
-            .countByCounterAndServiceDate(counter, LocalDate.now());
+            .countByCounterAndServiceDate(counterRegistry.reference(counterName), LocalDate.now());
 
-        if (tokensToday >= counter.getDailyLimit()) {
+        if (tokensToday >= counter.dailyLimit()) {
             return false;
         }
 
@@ -129,4 +134,13 @@ public class ValidationServiceImpl implements ValidationService {
                 return false;
         }
     }
+
+    @Override
+    public Set<TokenStatus> getAllowedPredecessors(TokenStatus newStatus) {
+        Set<TokenStatus> predecessors = EnumSet.noneOf(TokenStatus.class);
+        for (TokenStatus status : TokenStatus.values()) {
+            if (isValidStatusTransition(status, newStatus)) predecessors.add(status);
+        }
+        return predecessors;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.queue.management.simulation;
+
+import com.queue.management.service.CounterSelectionPolicy;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Discrete-event simulator of one service day on a virtual clock.
+ *
+ * Mirrors the production rules in TokenServiceImpl / ValidationServiceImpl:
+ * - new tokens go to the counter picked by the CounterSelectionPolicy, among counters
+ *   that are ACTIVE and below their daily limit
+ * - each counter serves its own queue in token-number (FIFO) order
+ * - completing a token auto-calls the next one, unless the counter is on break
+ * - a break lets the current token finish and resumes calling when it ends
+ *
+ * All state lives in memory; a day of a few hundred tokens runs in milliseconds.
+ */
+public class QueueSimulator {
+
+    private enum EventType { BREAK_END, SERVICE_DONE, BREAK_START, ARRIVAL }
+
+    private record Event(long time, EventType type, int counter, int arrival, long sequence) {}
+
+    private final CounterSelectionPolicy selectionPolicy;
+    private final int counterCount;
+    private final int dailyLimit;
+
+    // Per-counter state
+    private final List<Deque<Integer>> waiting = new ArrayList<>();
+    private final int[] serving;
+    private final boolean[] onBreak;
+    private final int[] issued;
+    private final int[] served;
+
+    private final PriorityQueue<Event> events = new PriorityQueue<>(
+        // Same-second ties: free counters first, arrivals last
+        Comparator.comparingLong(Event::time)
+            .thenComparing(Event::type)
+            .thenComparingLong(Event::sequence)
+    );
+
+    private long sequence;
+    private int lastUsed = -1;
+
+    public QueueSimulator(CounterSelectionPolicy selectionPolicy, int counterCount, int dailyLimit) {
+        this.selectionPolicy = selectionPolicy;
+        this.counterCount = counterCount;
+        this.dailyLimit = dailyLimit;
+        this.serving = new int[counterCount];
+        this.onBreak = new boolean[counterCount];
+        this.issued = new int[counterCount];
+        this.served = new int[counterCount];
+        for (int i = 0; i < counterCount; i++) {
+            waiting.add(new ArrayDeque<>());
+            serving[i] = -1;
+        }
+    }
+
+    public SimulationOutcome run(List<SimulatedArrival> arrivals, List<SimulatedBreak> breaks) {
+        for (int i = 0; i < arrivals.size(); i++) {
+            schedule(arrivals.get(i).arrivalSecond(), EventType.ARRIVAL, -1, i);
+        }
+        for (SimulatedBreak simulatedBreak : breaks) {
+            if (simulatedBreak.counterIndex() >= counterCount) continue;
+            schedule(simulatedBreak.startSecond(), EventType.BREAK_START, simulatedBreak.counterIndex(), -1);
+            schedule(simulatedBreak.endSecond(), EventType.BREAK_END, simulatedBreak.counterIndex(), -1);
+        }
+
+        List<Long> waits = new ArrayList<>(arrivals.size());
+        int rejected = 0;
+        long now = 0;
+
+        while (!events.isEmpty()) {
+            Event event = events.poll();
+            now = event.time();
+
+            switch (event.type()) {
+                case ARRIVAL -> {
+                    int counter = selectionPolicy.select(counterCount, lastUsed,
+                        i -> !onBreak[i] && issued[i] < dailyLimit);
+                    if (counter < 0) {
+                        rejected++;
+                        continue;
+                    }
+                    lastUsed = counter;
+                    issued[counter]++;
+                    waiting.get(counter).addLast(event.arrival());
+                    if (!onBreak[counter] && serving[counter] < 0) {
+                        callNext(counter, now, arrivals, waits);
+                    }
+                }
+                case SERVICE_DONE -> {
+                    serving[event.counter()] = -1;
+                    served[event.counter()]++;
+                    if (!onBreak[event.counter()]) {
+                        callNext(event.counter(), now, arrivals, waits);
+                    }
+                }
+                case BREAK_START -> onBreak[event.counter()] = true;
+                case BREAK_END -> {
+                    onBreak[event.counter()] = false;
+                    if (serving[event.counter()] < 0) {
+                        callNext(event.counter(), now, arrivals, waits);
+                    }
+                }
+            }
+        }
+
+        return new SimulationOutcome(waits, served.clone(), rejected, now);
+    }
+
+    private void callNext(int counter, long now, List<SimulatedArrival> arrivals, List<Long> waits) {
+        Integer next = waiting.get(counter).pollFirst();
+        if (next == null) return;
+
+        SimulatedArrival arrival = arrivals.get(next);
+        serving[counter] = next;
+        waits.add(now - arrival.arrivalSecond());
+        schedule(now + arrival.serviceSeconds(), EventType.SERVICE_DONE, counter, next);
+    }
+
+    private void schedule(long time, EventType type, int counter, int arrival) {
+        events.add(new Event(time, type, counter, arrival, sequence++));
+    }
+}
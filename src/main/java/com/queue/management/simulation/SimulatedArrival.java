@@ -0,0 +1,9 @@
+package com.queue.management.simulation;
+
+/**
+ * One student arrival replayed from a historical token.
+ *
+ * @param arrivalSecond  second of day the token was generated
+ * @param serviceSeconds how long serving took (served_at → completed_at)
+ */
+public record SimulatedArrival(long arrivalSecond, long serviceSeconds) {}
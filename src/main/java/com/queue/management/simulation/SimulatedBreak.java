@@ -0,0 +1,10 @@
+package com.queue.management.simulation;
+
+/**
+ * A counter break on the virtual clock.
+ *
+ * @param counterIndex counter going on break
+ * @param startSecond  second of day the break starts
+ * @param endSecond    second of day the counter resumes
+ */
+public record SimulatedBreak(int counterIndex, long startSecond, long endSecond) {}
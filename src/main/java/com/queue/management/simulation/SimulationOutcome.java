@@ -0,0 +1,16 @@
+package com.queue.management.simulation;
+
+import java.util.List;
+
+/**
+ * Raw result of one simulated day.
+ *
+ * @param waitSeconds      wait (arrival → called) of every served token, in call order
+ * @param servedPerCounter tokens served per counter index
+ * @param rejected         arrivals turned away because no counter was accepting
+ * @param lastEventSecond  virtual time the last token was completed
+ */
+public record SimulationOutcome(List<Long> waitSeconds,
+                                int[] servedPerCounter,
+                                int rejected,
+                                long lastEventSecond) {}
@@ -1,4 +1,9 @@
 -- Drop tables if they exist (for clean setup)
+DROP TABLE IF EXISTS tokens_archive;
+DROP TABLE IF EXISTS id_generators;
+DROP TABLE IF EXISTS principals;
+DROP TABLE IF EXISTS revoked_tokens;
+DROP TABLE IF EXISTS queue_depth_snapshots;
 DROP TABLE IF EXISTS counter_break_logs;
 DROP TABLE IF EXISTS queue_rotation_states;
 DROP TABLE IF EXISTS daily_counter_states;
@@ -14,6 +19,7 @@ CREATE TABLE students (
     name VARCHAR(100) NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
+    credential_version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -28,6 +34,7 @@ CREATE TABLE counter_staff (
     name VARCHAR(100) NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
+    credential_version INT NOT NULL DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
     
@@ -61,16 +68,31 @@ CREATE TABLE tokens (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     served_at TIMESTAMP NULL,
     completed_at TIMESTAMP NULL,
+    dropped_at TIMESTAMP NULL,
+    served_by VARCHAR(20) NULL,
     is_rescheduled BOOLEAN DEFAULT FALSE,
     original_service_date DATE NULL,
+    version BIGINT NOT NULL DEFAULT 0,
     
     FOREIGN KEY (counter_id) REFERENCES service_counters(id),
     FOREIGN KEY (student_id) REFERENCES students(id),
     
-    INDEX idx_service_date_status (service_date, status),
-    INDEX idx_counter_date (counter_id, service_date),
-    INDEX idx_student_date (student_id, service_date),
-    INDEX idx_token_code (token_code)
+    -- One index per TokenRepository access path: equality columns first, then the ORDER BY
+    -- column. None is covering; each finds and orders the rows, which are then read.
+    -- token_code lookups use its UNIQUE key. lockIdsToArchive walks the primary key.
+
+    -- The queue: findQueueEntries, claimNextWaitingId, the WAITING counts and bulk updates.
+    -- Also serves counter-and-day reads without status (countByStatus), and the few
+    -- SERVING rows a counter has, which findLatestServedEntry sorts by served_at.
+    INDEX idx_counter_status_date_number (counter_id, status, service_date, token_number),
+    -- findLast10ServiceTimes: COMPLETED rows grow all day, so read the latest 10 in order
+    INDEX idx_counter_status_date_completed (counter_id, status, service_date, completed_at),
+    -- A student's tokens for a day (findTokenSummaryForDate, countWaitingAhead) and history
+    INDEX idx_student_date_created (student_id, service_date, created_at),
+    -- findLatestTokenSummary: a student's latest token across days
+    INDEX idx_student_created (student_id, created_at),
+    -- Time windows: findByCreatedAtBetween and countArrivalsPerSlotSince
+    INDEX idx_created_counter (created_at, counter_id)
 ) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
 
 -- 5. Daily Counter States Table (Token sequence manager)
@@ -107,5 +129,82 @@ CREATE TABLE counter_break_logs (
     actual_duration INT NULL,
     
     FOREIGN KEY (counter_id) REFERENCES service_counters(id),
-    INDEX idx_counter_date (counter_id, break_start)
-) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
\ No newline at end of file
+    INDEX idx_counter_date (counter_id, break_start),
+    -- Break analytics: break_start range over all counters
+    INDEX idx_break_start_counter (break_start, counter_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 8. Queue Depth Snapshots Table (Packed daily queue-depth series per counter)
+CREATE TABLE queue_depth_snapshots (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    counter_id BIGINT NOT NULL,
+    service_date DATE NOT NULL,
+    sample_interval_seconds INT NOT NULL,
+    sample_count INT NOT NULL,
+    samples MEDIUMBLOB NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    FOREIGN KEY (counter_id) REFERENCES service_counters(id),
+    UNIQUE KEY unique_counter_date (counter_id, service_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 9. Revoked Tokens Table (Logout and password-reset JWT revocations)
+CREATE TABLE revoked_tokens (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti VARCHAR(36) NULL UNIQUE,
+    subject VARCHAR(50) NOT NULL,
+    revoked_before TIMESTAMP NULL,
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    INDEX idx_expires_at (expires_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 10. Principals Table (Unified identity directory over students and counter_staff)
+-- Filled from both tables at startup and kept in sync on every write
+CREATE TABLE principals (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    identifier VARCHAR(20) UNIQUE NOT NULL,
+    email VARCHAR(100) NOT NULL,
+    user_type VARCHAR(20) NOT NULL,
+    name VARCHAR(100) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    credential_version INT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+
+    INDEX idx_principal_email (email)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+-- 11. ID Generators Table (Pooled, batch-friendly IDs for tokens)
+CREATE TABLE id_generators (
+    generator_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_value BIGINT
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
+
+INSERT INTO id_generators (generator_name, next_value) VALUES ('tokens', 51);
+
+-- 12. Tokens Archive Table (tokens of closed days, moved out of tokens by TokenArchiveService)
+CREATE TABLE tokens_archive (
+    id BIGINT PRIMARY KEY,
+    counter_id BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    token_number INT NOT NULL,
+    token_code VARCHAR(10) NOT NULL,
+    status ENUM('WAITING', 'SERVING', 'COMPLETED', 'DROPPED', 'RESCHEDULED') NOT NULL,
+    service_date DATE NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    served_at TIMESTAMP NULL,
+    completed_at TIMESTAMP NULL,
+    dropped_at TIMESTAMP NULL,
+    served_by VARCHAR(20) NULL,
+    is_rescheduled BOOLEAN DEFAULT FALSE,
+    original_service_date DATE NULL,
+    archived_at TIMESTAMP NOT NULL,
+
+    FOREIGN KEY (counter_id) REFERENCES service_counters(id),
+    FOREIGN KEY (student_id) REFERENCES students(id),
+
+    INDEX idx_archive_student_date_created (student_id, service_date, created_at),
+    INDEX idx_archive_counter_status_date_completed (counter_id, status, service_date, completed_at),
+    INDEX idx_archive_created_counter (created_at, counter_id)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
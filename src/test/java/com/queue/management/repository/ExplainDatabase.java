@@ -0,0 +1,96 @@
+package com.queue.management.repository;
+
+import org.springframework.test.context.DynamicPropertyRegistry;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Scratch MySQL database shared by the repository tests that need a real server.
+ *
+ * Tests using it are enabled only when EXPLAIN_DB_URL is set. The schema is dropped
+ * and recreated from schema.sql, so point it at a throwaway database,
+ * e.g. jdbc:mysql://localhost:3306/queue_explain
+ */
+final class ExplainDatabase {
+
+    static final String URL_VARIABLE = "EXPLAIN_DB_URL";
+
+    private ExplainDatabase() {
+    }
+
+    static Connection connect() throws SQLException {
+        return DriverManager.getConnection(url(), username(), password());
+    }
+
+    // Recreate the schema with both counters, and point the Spring context at it.
+    // Runs before the context starts, since startup beans already read the counters.
+    static void register(DynamicPropertyRegistry registry) {
+        try (Connection connection = connect()) {
+            runSchema(connection);
+            insertCounters(connection);
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not prepare " + url(), e);
+        }
+
+        registry.add("spring.datasource.url", ExplainDatabase::url);
+        registry.add("spring.datasource.username", ExplainDatabase::username);
+        registry.add("spring.datasource.password", ExplainDatabase::password);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "none");
+    }
+
+    // Drop and recreate every table from schema.sql
+    static void runSchema(Connection connection) throws Exception {
+        String schema = Files.readString(Path.of("src/main/resources/schema.sql"), StandardCharsets.UTF_8);
+
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : schema.split("\n")) {
+            if (!line.trim().startsWith("--")) withoutComments.append(line).append('\n');
+        }
+
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : withoutComments.toString().split(";")) {
+                if (!sql.isBlank()) statement.execute(sql);
+            }
+        }
+    }
+
+    // Counter A has id 1, counter B id 2
+    static void insertCounters(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO service_counters (id, name) VALUES (1, 'A'), (2, 'B')");
+        }
+    }
+
+    // Students 1..count with roll numbers R0001, R0002, ...
+    static void insertStudents(Connection connection, int count) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO students (id, roll_number, name, email, password) VALUES (?, ?, ?, ?, 'x')")) {
+            for (int i = 1; i <= count; i++) {
+                insert.setInt(1, i);
+                insert.setString(2, String.format("R%04d", i));
+                insert.setString(3, "Student " + i);
+                insert.setString(4, "student" + i + "@example.com");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    private static String url() {
+        return System.getenv(URL_VARIABLE);
+    }
+
+    private static String username() {
+        return System.getenv().getOrDefault("EXPLAIN_DB_USERNAME", "root");
+    }
+
+    private static String password() {
+        return System.getenv().getOrDefault("EXPLAIN_DB_PASSWORD", "");
+    }
+}
@@ -0,0 +1,175 @@
+package com.queue.management.repository;
+
+import com.queue.management.enums.TokenStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Several desks calling next on the same counter at once must never serve the same token.
+ *
+ * Every desk runs the claim TokenServiceImpl.callNextToken uses, through the real
+ * TokenRepository: claimNextWaitingId, then transitionStatus to SERVING bound to the
+ * desk, in its own transaction. Each claim stays open for a moment so the other desks
+ * hit the locked head row. Runs against the ExplainDatabase scratch schema.
+ */
+@SpringBootTest
+@EnabledIfEnvironmentVariable(named = ExplainDatabase.URL_VARIABLE, matches = ".+")
+class TokenClaimConcurrencyTest {
+
+    private static final int DESKS = 8;
+    private static final int WAITING_TOKENS = 200;
+    private static final long COUNTER_A = 1L;
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        ExplainDatabase.register(registry);
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DELETE FROM tokens");
+                statement.execute("DELETE FROM students");
+            }
+            ExplainDatabase.insertStudents(connection, WAITING_TOKENS);
+
+            try (PreparedStatement tokens = connection.prepareStatement(
+                    "INSERT INTO tokens (counter_id, student_id, token_number, token_code, status, service_date) " +
+                    "VALUES (?, ?, ?, ?, 'WAITING', ?)")) {
+                for (int i = 1; i <= WAITING_TOKENS; i++) {
+                    tokens.setLong(1, COUNTER_A);
+                    tokens.setInt(2, i);
+                    tokens.setInt(3, i);
+                    tokens.setString(4, String.format("A-%03d", i));
+                    tokens.setObject(5, TODAY);
+                    tokens.addBatch();
+                }
+                tokens.executeBatch();
+            }
+        }
+    }
+
+    @Test
+    void concurrentCallNextServesEveryTokenExactlyOnce() throws Exception {
+        ExecutorService desks = Executors.newFixedThreadPool(DESKS);
+        CountDownLatch start = new CountDownLatch(1);
+
+        Map<String, Future<List<Long>>> results = new HashMap<>();
+        for (int i = 1; i <= DESKS; i++) {
+            String staffId = "S" + i;
+            results.put(staffId, desks.submit(drainQueue(staffId, start)));
+        }
+        start.countDown();
+
+        Map<Long, String> servedBy = new HashMap<>();
+        List<Long> served = new ArrayList<>();
+        for (Map.Entry<String, Future<List<Long>>> result : results.entrySet()) {
+            for (Long id : result.getValue().get(2, TimeUnit.MINUTES)) {
+                served.add(id);
+                servedBy.put(id, result.getKey());
+            }
+        }
+        desks.shutdown();
+
+        Set<Long> distinct = new HashSet<>(served);
+        assertEquals(served.size(), distinct.size(), "A token was served by more than one desk");
+        assertEquals(WAITING_TOKENS, distinct.size(), "Not every waiting token was served");
+
+        // Each token is SERVING, updated once, and bound to the desk that claimed it
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT id, status, served_by, version FROM tokens")) {
+            int count = 0;
+            while (rows.next()) {
+                long id = rows.getLong("id");
+                assertEquals("SERVING", rows.getString("status"));
+                assertEquals(servedBy.get(id), rows.getString("served_by"), "Token " + id + " bound to the wrong desk");
+                assertEquals(1, rows.getLong("version"), "Token " + id + " was updated more than once");
+                count++;
+            }
+            assertEquals(WAITING_TOKENS, count);
+        }
+    }
+
+    // ─── HELPERS ──────────────────────────────────────────────────────────
+
+    // One desk: claim and serve tokens until the queue is empty
+    private Callable<List<Long>> drainQueue(String staffId, CountDownLatch start) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        return () -> {
+            List<Long> served = new ArrayList<>();
+            start.await();
+
+            while (true) {
+                Long id = transaction.execute(status -> claim(staffId));
+                if (id == null) {
+                    return served;
+                }
+                served.add(id);
+            }
+        };
+    }
+
+    private Long claim(String staffId) {
+        Optional<Long> claimed = tokenRepository.claimNextWaitingId(COUNTER_A, TODAY);
+        claimed.ifPresent(tokenId -> {
+            assertEquals(1, tokenRepository.transitionStatus(
+                    tokenId, EnumSet.of(TokenStatus.WAITING), TokenStatus.SERVING,
+                    LocalDateTime.now(), staffId, null, null));
+            // Hold the row lock so other desks have to skip it
+            pause();
+        });
+        return claimed.orElse(null);
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
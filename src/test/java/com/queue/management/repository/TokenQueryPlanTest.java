@@ -0,0 +1,349 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.ServiceCounter;
+import com.queue.management.enums.CounterName;
+import com.queue.management.enums.TokenStatus;
+import com.queue.management.service.CounterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that every hot TokenRepository query is served by an index.
+ *
+ * Seeds a month of tokens, calls each repository method (writes are rolled back),
+ * captures the SQL Hibernate sends with CapturingStatementInspector and runs EXPLAIN
+ * on it with the same parameter values. A plan fails if it scans the whole tokens
+ * table or sorts rows the index should already return in order.
+ *
+ * The values passed to assertIndexed are the method's arguments in the order their
+ * placeholders appear in the SQL (LIMIT is bound last); a count mismatch fails with
+ * the captured SQL. Runs against the ExplainDatabase scratch schema.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.queue.management.repository.CapturingStatementInspector")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@EnabledIfEnvironmentVariable(named = ExplainDatabase.URL_VARIABLE, matches = ".+")
+class TokenQueryPlanTest {
+
+    private static final int DAYS = 30;
+    private static final int TOKENS_PER_COUNTER_PER_DAY = 60;
+    private static final int STUDENTS = 200;
+
+    private static final LocalDate TODAY = LocalDate.now();
+    private static final LocalDateTime NOW = LocalDateTime.now();
+
+    // Table name followed by its alias, in Hibernate's and our native SQL
+    private static final Pattern TOKENS_ALIAS =
+            Pattern.compile("\\b(?:tokens|tokens_archive)\\s+(?:as\\s+)?([a-z_][a-z0-9_]*)", Pattern.CASE_INSENSITIVE);
+    private static final Set<String> NOT_ALIASES =
+            Set.of("where", "join", "on", "set", "order", "group", "limit", "for", "union", "inner", "left", "cross");
+
+    @Autowired
+    private TokenRepository tokenRepository;
+
+    @Autowired
+    private CounterRegistry counterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        ExplainDatabase.register(registry);
+    }
+
+    @BeforeAll
+    void setUp() throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            ExplainDatabase.insertStudents(connection, STUDENTS);
+            seed(connection);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE TABLE tokens, tokens_archive, students, service_counters");
+            }
+        }
+    }
+
+    // ─── COUNTER QUEUE ────────────────────────────────────────────────────
+
+    @Test
+    void waitingQueueInTokenOrder() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository
+                .findByCounterAndStatusAndServiceDateOrderByTokenNumberAsc(counterA(), TokenStatus.WAITING, TODAY));
+        assertIndexed(sql, true, 1L, "WAITING", TODAY);
+    }
+
+    @Test
+    void countByCounterStatusAndDate() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository
+                .countByCounterAndStatusAndServiceDate(counterA(), TokenStatus.WAITING, TODAY));
+        assertIndexed(sql, true, 1L, "WAITING", TODAY);
+    }
+
+    @Test
+    void currentlyServingToken() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository
+                .findLatestServedEntry(counterA(), TokenStatus.SERVING, TODAY));
+        // One SERVING row per open desk, so sorting them by servedAt is fine
+        assertIndexed(sql, false, 1L, "SERVING", TODAY, 1);
+    }
+
+    @Test
+    void servingTokenOfDesk() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.findServingEntryForDesk(counterA(), TODAY, "S1"));
+        // Same few SERVING rows, narrowed to the desk
+        assertIndexed(sql, false, 1L, TODAY, "S1", 1);
+    }
+
+    @Test
+    void last10CompletedTokens() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.findLast10ServiceTimes(counterA(), TODAY));
+        assertIndexed(sql, true, 1L, TODAY, 10);
+    }
+
+    @Test
+    void countsPerStatus() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.countByStatus(counterA(), TODAY));
+        assertIndexed(sql, false, 1L, TODAY);
+    }
+
+    @Test
+    void queueEntriesWithRollNumbers() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.findQueueEntries(counterA(), TokenStatus.WAITING, TODAY));
+        assertIndexed(sql, true, 1L, "WAITING", TODAY);
+    }
+
+    // ─── COUNTER WRITES ───────────────────────────────────────────────────
+
+    @Test
+    void claimNextWaiting() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.claimNextWaitingId(1L, TODAY));
+        assertIndexed(sql, true, 1L, TODAY);
+    }
+
+    @Test
+    void transitionOneToken() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.transitionStatus(
+                1L, EnumSet.of(TokenStatus.WAITING), TokenStatus.SERVING, NOW, "S1", null, null));
+        assertIndexed(sql, false, "SERVING", NOW, "S1", null, null, 1L, "WAITING");
+    }
+
+    @Test
+    void bulkStatusUpdate() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.bulkUpdateStatus(
+                counterA(), TokenStatus.WAITING, TODAY, TokenStatus.DROPPED, NOW));
+        assertIndexed(sql, false, "DROPPED", NOW, 1L, "WAITING", TODAY);
+    }
+
+    @Test
+    void rescheduleWaitingTokens() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.rescheduleWaitingTokens(1L, TODAY, TODAY.plusDays(1), "A"));
+        // The renumbering join reads a derived table; only the tokens access paths matter
+        assertIndexed(sql, false, 1L, TODAY, TODAY.plusDays(1), "A");
+    }
+
+    @Test
+    void lockTokensToArchive() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.lockIdsToArchive(TODAY.minusDays(7), 500));
+        // Walks the primary key in id order and stops at the limit
+        assertIndexed(sql, false, TODAY.minusDays(7), 500);
+    }
+
+    // ─── STUDENT LOOKUPS ──────────────────────────────────────────────────
+
+    @Test
+    void activeTokenOfStudentForDate() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository
+                .findTokenSummaryForDate("R0007", EnumSet.of(TokenStatus.WAITING), TODAY));
+        // At most a few rows per student and day, so sorting them by createdAt is fine
+        assertIndexed(sql, false, "R0007", "WAITING", TODAY, 1);
+    }
+
+    @Test
+    void latestTokenOfStudentInStatuses() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository
+                .findLatestTokenSummary("R0007", EnumSet.of(TokenStatus.WAITING, TokenStatus.SERVING)));
+        assertIndexed(sql, true, "R0007", "WAITING", "SERVING", 1);
+    }
+
+    @Test
+    void waitingAheadOfStudent() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.countWaitingAhead("R0007", TODAY));
+        assertIndexed(sql, false, "R0007", TODAY, TODAY);
+    }
+
+    @Test
+    void tokenHistoryOfStudent() throws SQLException {
+        String sql = sqlOf(() -> tokenRepository.findByStudent_RollNumberOrderByServiceDateDescCreatedAtDesc("R0007"));
+        assertIndexed(sql, true, "R0007");
+    }
+
+    // ─── TIME WINDOWS ─────────────────────────────────────────────────────
+
+    @Test
+    void tokensCreatedBetween() throws SQLException {
+        LocalDateTime start = TODAY.atTime(9, 0);
+        LocalDateTime end = TODAY.atTime(11, 0);
+        String sql = sqlOf(() -> tokenRepository.findByCreatedAtBetweenOrderByCreatedAtAsc(start, end));
+        assertIndexed(sql, true, start, end);
+    }
+
+    @Test
+    void arrivalsPerSlotSince() throws SQLException {
+        LocalDateTime since = TODAY.minusDays(2).atStartOfDay();
+        String sql = sqlOf(() -> tokenRepository.countArrivalsPerSlotSince(since));
+        // Grouping by computed slot always needs a temporary table; only the access path matters
+        assertIndexed(sql, false, since, since);
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private ServiceCounter counterA() {
+        return counterRegistry.reference(CounterName.A);
+    }
+
+    // Run the call in a rolled-back transaction and return the last SQL it sent
+    private String sqlOf(Runnable call) {
+        List<String> statements;
+        CapturingStatementInspector.start();
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                call.run();
+                status.setRollbackOnly();
+            });
+        } finally {
+            statements = CapturingStatementInspector.stop();
+        }
+        assertFalse(statements.isEmpty(), "The call sent no SQL");
+        return statements.get(statements.size() - 1);
+    }
+
+    // EXPLAIN the query; fail on a full scan of tokens (or the archive), or on any filesort when sorted
+    private void assertIndexed(String sql, boolean requireIndexOrder, Object... params) throws SQLException {
+        assertEquals(params.length, sql.chars().filter(c -> c == '?').count(),
+                () -> "Parameter count does not match the generated SQL:\n" + sql);
+
+        Set<String> tokenTables = tokenTables(sql);
+        List<String> plan = new ArrayList<>();
+        plan.add(sql);
+        boolean tokensSeen = false;
+
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("EXPLAIN FORMAT=TRADITIONAL " + sql)) {
+            for (int i = 0; i < params.length; i++) {
+                statement.setObject(i + 1, params[i]);
+            }
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    String table = rows.getString("table");
+                    String type = rows.getString("type");
+                    String key = rows.getString("key");
+                    String extra = rows.getString("Extra");
+                    plan.add(table + " type=" + type + " key=" + key + " extra=" + extra);
+
+                    if (tokenTables.contains(table)) {
+                        tokensSeen = true;
+                        assertNotEquals("ALL", type, () -> "Full scan of tokens:\n" + String.join("\n", plan));
+                        assertNotNull(key, () -> "No index used on tokens:\n" + String.join("\n", plan));
+                    }
+                    if (requireIndexOrder && extra != null) {
+                        assertFalse(extra.contains("Using filesort"),
+                                () -> "Rows sorted outside the index:\n" + String.join("\n", plan));
+                    }
+                }
+            }
+        }
+        assertTrue(tokensSeen, () -> "Plan never reads tokens:\n" + String.join("\n", plan));
+    }
+
+    // Names EXPLAIN may show for tokens and tokens_archive: the bare tables plus their aliases
+    private static Set<String> tokenTables(String sql) {
+        Set<String> tables = new HashSet<>(Set.of("tokens", "tokens_archive"));
+        Matcher matcher = TOKENS_ALIAS.matcher(sql);
+        while (matcher.find()) {
+            String alias = matcher.group(1);
+            if (!NOT_ALIASES.contains(alias.toLowerCase())) tables.add(alias);
+        }
+        return tables;
+    }
+
+    private static void seed(Connection connection) throws SQLException {
+        // A month of finished days plus today's mixed queue for both counters
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO tokens (counter_id, student_id, token_number, token_code, status, " +
+                "service_date, created_at, served_at, completed_at, served_by) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+            int student = 0;
+            for (int day = DAYS; day >= 0; day--) {
+                LocalDate date = TODAY.minusDays(day);
+                for (int counter = 1; counter <= 2; counter++) {
+                    String prefix = counter == 1 ? "A" : "B";
+                    for (int n = 1; n <= TOKENS_PER_COUNTER_PER_DAY; n++) {
+                        String status = day > 0 ? (n % 10 == 0 ? "DROPPED" : "COMPLETED")
+                                : n <= 20 ? "COMPLETED" : n == 21 ? "SERVING" : "WAITING";
+                        LocalDateTime created = date.atTime(8, 0).plusMinutes(n * 5L);
+                        boolean called = !"WAITING".equals(status);
+
+                        insert.setInt(1, counter);
+                        insert.setInt(2, student % STUDENTS + 1);
+                        insert.setInt(3, n);
+                        insert.setString(4, String.format("%s%02d-%03d", prefix, day, n));
+                        insert.setString(5, status);
+                        insert.setObject(6, date);
+                        insert.setObject(7, created);
+                        insert.setObject(8, called ? created.plusMinutes(3) : null);
+                        insert.setObject(9, "COMPLETED".equals(status) ? created.plusMinutes(6) : null);
+                        insert.setString(10, called ? "S" + counter : null);
+                        insert.addBatch();
+                        student++;
+                    }
+                }
+            }
+            insert.executeBatch();
+        }
+
+        // Give the archive the closed days too, so its plans are costed against real rows
+        try (PreparedStatement copy = connection.prepareStatement(
+                "INSERT INTO tokens_archive (id, counter_id, student_id, token_number, token_code, status, " +
+                "service_date, created_at, served_at, completed_at, served_by, is_rescheduled, " +
+                "original_service_date, archived_at) " +
+                "SELECT id, counter_id, student_id, token_number, token_code, status, " +
+                "service_date, created_at, served_at, completed_at, served_by, is_rescheduled, " +
+                "original_service_date, NOW() " +
+                "FROM tokens WHERE service_date < ?")) {
+            copy.setObject(1, TODAY.minusDays(1));
+            copy.executeUpdate();
+        }
+    }
+}
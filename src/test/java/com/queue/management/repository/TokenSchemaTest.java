@@ -0,0 +1,131 @@
+package com.queue.management.repository;
+
+import com.queue.management.entity.ArchivedToken;
+import com.queue.management.entity.Token;
+import jakarta.persistence.Column;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.jpa.repository.Query;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keeps schema.sql in step with the Token and ArchivedToken mappings, without a database.
+ *
+ * Production runs on schema.sql, while ddl-auto only ever sees the entities, so a column
+ * or index added to one and not the other goes unnoticed until a query fails or a plan
+ * regresses. The archive copy must also carry every archive column over from tokens.
+ */
+class TokenSchemaTest {
+
+    private static final Set<String> NOT_COLUMNS = Set.of("INDEX", "FOREIGN", "UNIQUE", "PRIMARY", "KEY", "CONSTRAINT");
+
+    @Test
+    void tokensTableHasEveryMappedColumn() throws IOException {
+        assertColumnsInSchema(Token.class, "tokens");
+    }
+
+    @Test
+    void archiveTableHasEveryMappedColumn() throws IOException {
+        assertColumnsInSchema(ArchivedToken.class, "tokens_archive");
+    }
+
+    @Test
+    void tokenIndexesMatchSchema() throws IOException {
+        assertIndexesInSchema(Token.class, "tokens");
+    }
+
+    @Test
+    void archiveIndexesMatchSchema() throws IOException {
+        assertIndexesInSchema(ArchivedToken.class, "tokens_archive");
+    }
+
+    @Test
+    void archiveCopyCarriesEveryColumn() throws Exception {
+        String copy = ArchivedTokenRepository.class
+                .getMethod("copyFromTokens", List.class)
+                .getAnnotation(Query.class)
+                .value();
+        String insertColumns = copy.substring(copy.indexOf('(') + 1, copy.indexOf(')'));
+
+        for (String column : columns(createTable("tokens_archive"))) {
+            assertTrue(insertColumns.matches("(?s).*\\b" + column + "\\b.*"),
+                    () -> "copyFromTokens does not copy tokens_archive." + column);
+        }
+    }
+
+    // ─── PRIVATE HELPERS ──────────────────────────────────────────────────
+
+    private static void assertColumnsInSchema(Class<?> entity, String table) throws IOException {
+        List<String> schemaColumns = columns(createTable(table));
+
+        for (Field field : entity.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) continue;
+
+            String column = mappedColumn(field);
+            assertTrue(schemaColumns.contains(column),
+                    () -> entity.getSimpleName() + "." + field.getName() + " maps to " + table + "." + column +
+                          ", which schema.sql does not create");
+        }
+    }
+
+    private static void assertIndexesInSchema(Class<?> entity, String table) throws IOException {
+        String createTable = createTable(table);
+
+        for (Index index : entity.getAnnotation(Table.class).indexes()) {
+            String definition = "INDEX " + index.name() + " (" + index.columnList() + ")";
+            assertTrue(createTable.contains(definition),
+                    () -> "schema.sql has no " + definition + " on " + table);
+        }
+    }
+
+    // Column name as Hibernate maps it: explicit name, or the (single-word) field name
+    private static String mappedColumn(Field field) {
+        JoinColumn joinColumn = field.getAnnotation(JoinColumn.class);
+        if (joinColumn != null) return joinColumn.name();
+
+        Column column = field.getAnnotation(Column.class);
+        if (column != null && !column.name().isEmpty()) return column.name();
+
+        if (field.isAnnotationPresent(Id.class) || column != null) return field.getName();
+        throw new AssertionError("Unmapped field " + field);
+    }
+
+    // The CREATE TABLE statement for one table, without comment lines
+    private static String createTable(String table) throws IOException {
+        String schema = Files.readString(Path.of("src/main/resources/schema.sql"), StandardCharsets.UTF_8);
+        int start = schema.indexOf("CREATE TABLE " + table + " (");
+        assertTrue(start >= 0, () -> "schema.sql does not create " + table);
+        int end = schema.indexOf(") ENGINE", start);
+
+        StringBuilder withoutComments = new StringBuilder();
+        for (String line : schema.substring(start, end).split("\n")) {
+            if (!line.trim().startsWith("--")) withoutComments.append(line).append('\n');
+        }
+        return withoutComments.toString();
+    }
+
+    private static List<String> columns(String createTable) {
+        List<String> columns = new ArrayList<>();
+        String[] lines = createTable.split("\n");
+        for (int i = 1; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.isEmpty()) continue;
+
+            String name = line.split("\\s+")[0];
+            if (!NOT_COLUMNS.contains(name)) columns.add(name);
+        }
+        return columns;
+    }
+}
@@ -0,0 +1,107 @@
+package com.queue.management.security;
+
+import com.queue.management.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * GCRA bucket behaviour on a fixed clock: a full burst, then one request per refill interval.
+ */
+class RateLimitFilterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    void allowsBurstThenRejectsUntilRefill() {
+        RateLimitProperties.Rule rule = rule(3, 1.0);
+        AtomicLong bucket = new AtomicLong();
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, START));
+        }
+        assertEquals(SECOND, RateLimitFilter.tryAcquire(bucket, rule, START));
+
+        // One interval later exactly one more request fits
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, START + SECOND));
+        assertEquals(SECOND, RateLimitFilter.tryAcquire(bucket, rule, START + SECOND));
+    }
+
+    @Test
+    void rejectedRequestsDoNotUseTokens() {
+        RateLimitProperties.Rule rule = rule(1, 1.0);
+        AtomicLong bucket = new AtomicLong();
+
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, START));
+        for (int i = 0; i < 5; i++) {
+            RateLimitFilter.tryAcquire(bucket, rule, START + i);
+        }
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, START + SECOND));
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityOnly() {
+        RateLimitProperties.Rule rule = rule(2, 1.0);
+        AtomicLong bucket = new AtomicLong();
+        RateLimitFilter.tryAcquire(bucket, rule, START);
+
+        long later = START + 60 * SECOND;
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, later));
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, later));
+        assertEquals(SECOND, RateLimitFilter.tryAcquire(bucket, rule, later));
+    }
+
+    @Test
+    void slowRefillWaitsForTheFullInterval() {
+        // The login rule: one attempt every five seconds
+        RateLimitProperties.Rule rule = rule(1, 0.2);
+        AtomicLong bucket = new AtomicLong();
+
+        assertEquals(0, RateLimitFilter.tryAcquire(bucket, rule, START));
+        assertEquals(5 * SECOND, RateLimitFilter.tryAcquire(bucket, rule, START));
+        assertEquals(SECOND, RateLimitFilter.tryAcquire(bucket, rule, START + 4 * SECOND));
+    }
+
+    @Test
+    void concurrentRequestsNeverExceedTheBurst() throws Exception {
+        int capacity = 10;
+        int threads = 8;
+        int attemptsPerThread = 50;
+        RateLimitProperties.Rule rule = rule(capacity, 1.0);
+        AtomicLong bucket = new AtomicLong();
+        AtomicInteger allowed = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int t = 0; t < threads; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (RateLimitFilter.tryAcquire(bucket, rule, START) == 0) allowed.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(capacity, allowed.get());
+    }
+
+    // ─── HELPERS ──────────────────────────────────────────────────────────
+
+    private static RateLimitProperties.Rule rule(int capacity, double refillPerSecond) {
+        RateLimitProperties.Rule rule = new RateLimitProperties.Rule();
+        rule.setPattern("/api/**");
+        rule.setCapacity(capacity);
+        rule.setRefillPerSecond(refillPerSecond);
+        return rule;
+    }
+}
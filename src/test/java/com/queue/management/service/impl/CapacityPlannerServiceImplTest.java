@@ -0,0 +1,48 @@
+package com.queue.management.service.impl;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the Erlang C formula behind the capacity plan against values worked out by hand.
+ */
+class CapacityPlannerServiceImplTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    void singleServerWaitsWithProbabilityOfUtilization() {
+        // M/M/1: P(wait) = ρ
+        assertEquals(0.5, CapacityPlannerServiceImpl.erlangC(0.5, 1), DELTA);
+        assertEquals(0.9, CapacityPlannerServiceImpl.erlangC(0.9, 1), DELTA);
+    }
+
+    @Test
+    void matchesTextbookValue() {
+        // 2 Erlangs on 3 servers: Erlang B = 4/19, Erlang C = 4/9
+        assertEquals(4.0 / 9.0, CapacityPlannerServiceImpl.erlangC(2, 3), DELTA);
+    }
+
+    @Test
+    void noLoadNeverWaits() {
+        assertEquals(0.0, CapacityPlannerServiceImpl.erlangC(0, 3), DELTA);
+    }
+
+    @Test
+    void moreServersWaitLess() {
+        double previous = 1;
+        for (int c = 5; c <= 12; c++) {
+            double pWait = CapacityPlannerServiceImpl.erlangC(4.5, c);
+            assertTrue(pWait < previous, () -> "P(wait) did not drop when adding a server");
+            previous = pWait;
+        }
+    }
+
+    @Test
+    void staysFiniteForManyServers() {
+        // The direct factorial form overflows long before this
+        double pWait = CapacityPlannerServiceImpl.erlangC(180, 200);
+        assertTrue(pWait > 0 && pWait < 1, () -> "P(wait) out of range: " + pWait);
+    }
+}
@@ -0,0 +1,107 @@
+package com.queue.management.service.impl;
+
+import com.queue.management.enums.CounterStatus;
+import org.junit.jupiter.api.Test;
+import java.time.LocalDate;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Sample storage, the packed daily blob, and merging the series several instances store.
+ */
+class QueueDepthRingBufferTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 2);
+
+    @Test
+    void encodesAndDecodesSamples() {
+        QueueDepthRingBuffer buffer = new QueueDepthRingBuffer(10, TODAY);
+        buffer.add(60, 4, 12, CounterStatus.ACTIVE);
+        buffer.add(120, 0, null, null);
+
+        byte[] blob = buffer.encode();
+        assertEquals(2 * QueueDepthRingBuffer.BYTES_PER_SAMPLE, blob.length);
+        assertEquals(List.of(
+                new QueueDepthRingBuffer.Sample(60, 4, 12, CounterStatus.ACTIVE),
+                new QueueDepthRingBuffer.Sample(120, 0, null, null)),
+                QueueDepthRingBuffer.decode(blob));
+    }
+
+    @Test
+    void keepsTheNewestSamplesOldestFirstWhenFull() {
+        QueueDepthRingBuffer buffer = new QueueDepthRingBuffer(3, TODAY);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 60, i, null, CounterStatus.ACTIVE);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(List.of(180, 240, 300), seconds(QueueDepthRingBuffer.decode(buffer.encode())));
+    }
+
+    @Test
+    void clampsWaitingCountToTheStoredRange() {
+        QueueDepthRingBuffer buffer = new QueueDepthRingBuffer(1, TODAY);
+        buffer.add(0, 100_000, null, CounterStatus.ACTIVE);
+
+        assertEquals(Short.MAX_VALUE, QueueDepthRingBuffer.decode(buffer.encode()).get(0).waitingCount());
+    }
+
+    @Test
+    void restoreContinuesAStoredSeries() {
+        QueueDepthRingBuffer stored = new QueueDepthRingBuffer(10, TODAY);
+        stored.add(60, 1, null, CounterStatus.ACTIVE);
+        stored.add(120, 2, 5, CounterStatus.ACTIVE);
+
+        QueueDepthRingBuffer restarted = new QueueDepthRingBuffer(10, TODAY);
+        restarted.restore(stored.encode());
+        restarted.add(180, 3, 6, CounterStatus.ON_BREAK);
+
+        assertEquals(3, restarted.size());
+        assertEquals(List.of(60, 120, 180), seconds(QueueDepthRingBuffer.decode(restarted.encode())));
+    }
+
+    @Test
+    void resetStartsAnEmptyDay() {
+        QueueDepthRingBuffer buffer = new QueueDepthRingBuffer(10, TODAY);
+        buffer.add(60, 1, null, CounterStatus.ACTIVE);
+        buffer.reset(TODAY.plusDays(1));
+
+        assertEquals(0, buffer.size());
+        assertEquals(TODAY.plusDays(1), buffer.getServiceDate());
+        assertArrayEquals(new byte[0], buffer.encode());
+    }
+
+    @Test
+    void mergeKeepsOneSamplePerSlotInTimeOrder() {
+        QueueDepthRingBuffer first = new QueueDepthRingBuffer(10, TODAY);
+        first.add(60, 1, null, CounterStatus.ACTIVE);
+        first.add(180, 3, null, CounterStatus.ACTIVE);
+
+        QueueDepthRingBuffer second = new QueueDepthRingBuffer(10, TODAY);
+        second.add(65, 9, 7, CounterStatus.ACTIVE);
+        second.add(120, 2, null, CounterStatus.ACTIVE);
+
+        List<QueueDepthRingBuffer.Sample> merged = QueueDepthRingBuffer.decode(
+                QueueDepthRingBuffer.merge(first.encode(), second.encode(), 60));
+
+        // 60 and 65 share a slot; the later series wins it
+        assertEquals(List.of(65, 120, 180), seconds(merged));
+        assertEquals(9, merged.get(0).waitingCount());
+    }
+
+    @Test
+    void mergeWithAnEmptySeriesKeepsTheOther() {
+        QueueDepthRingBuffer buffer = new QueueDepthRingBuffer(10, TODAY);
+        buffer.add(60, 1, 2, CounterStatus.ACTIVE);
+
+        assertArrayEquals(buffer.encode(), QueueDepthRingBuffer.merge(new byte[0], buffer.encode(), 60));
+        assertArrayEquals(buffer.encode(), QueueDepthRingBuffer.merge(buffer.encode(), new byte[0], 60));
+    }
+
+    // ─── HELPERS ──────────────────────────────────────────────────────────
+
+    private static List<Integer> seconds(List<QueueDepthRingBuffer.Sample> samples) {
+        return samples.stream().map(QueueDepthRingBuffer.Sample::secondOfDay).toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.queue.management.service.impl;
+
+import org.junit.jupiter.api.Test;
+import java.util.UUID;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The filter may answer "maybe" for a token that was never revoked, but never "no"
+ * for one that was, and its false positives stay near the configured rate.
+ */
+class RevocationBloomFilterTest {
+
+    private static final int INSERTED = 10_000;
+    private static final int PROBES = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    @Test
+    void neverMissesAnAddedToken() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(INSERTED, FALSE_POSITIVE_RATE);
+        String[] revoked = new String[INSERTED];
+        for (int i = 0; i < INSERTED; i++) {
+            revoked[i] = UUID.randomUUID().toString();
+            filter.add(revoked[i]);
+        }
+
+        for (String jti : revoked) {
+            assertTrue(filter.mightContain(jti), () -> "Revoked token not found: " + jti);
+        }
+    }
+
+    @Test
+    void falsePositivesStayNearTheConfiguredRate() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(INSERTED, FALSE_POSITIVE_RATE);
+        for (int i = 0; i < INSERTED; i++) {
+            filter.add(UUID.randomUUID().toString());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBES; i++) {
+            if (filter.mightContain(UUID.randomUUID().toString())) falsePositives++;
+        }
+
+        double rate = (double) falsePositives / PROBES;
+        assertTrue(rate < FALSE_POSITIVE_RATE * 2, () -> "False positive rate too high: " + rate);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        RevocationBloomFilter filter = new RevocationBloomFilter(100, FALSE_POSITIVE_RATE);
+        assertFalse(filter.mightContain(UUID.randomUUID().toString()));
+    }
+}
@@ -0,0 +1,77 @@
+package com.queue.management.simulation;
+
+import com.queue.management.service.impl.RoundRobinCounterSelectionPolicy;
+import org.junit.jupiter.api.Test;
+import java.util.List;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Small hand-checked days on the virtual clock, one rule of the production flow at a time.
+ */
+class QueueSimulatorTest {
+
+    @Test
+    void servesOneCounterInArrivalOrder() {
+        SimulationOutcome outcome = simulator(1, 10).run(List.of(
+                new SimulatedArrival(0, 60),
+                new SimulatedArrival(10, 60),
+                new SimulatedArrival(20, 60)), List.of());
+
+        assertEquals(List.of(0L, 50L, 100L), outcome.waitSeconds());
+        assertArrayEquals(new int[] {3}, outcome.servedPerCounter());
+        assertEquals(0, outcome.rejected());
+        assertEquals(180, outcome.lastEventSecond());
+    }
+
+    @Test
+    void assignsCountersRoundRobin() {
+        SimulationOutcome outcome = simulator(2, 10).run(List.of(
+                new SimulatedArrival(0, 100),
+                new SimulatedArrival(0, 100),
+                new SimulatedArrival(0, 100)), List.of());
+
+        // Counter 0 takes the first and third token, so the third waits one service
+        assertEquals(List.of(0L, 0L, 100L), outcome.waitSeconds());
+        assertArrayEquals(new int[] {2, 1}, outcome.servedPerCounter());
+    }
+
+    @Test
+    void rejectsArrivalsOverTheDailyLimit() {
+        SimulationOutcome outcome = simulator(1, 2).run(List.of(
+                new SimulatedArrival(0, 10),
+                new SimulatedArrival(5, 10),
+                new SimulatedArrival(30, 10)), List.of());
+
+        assertEquals(1, outcome.rejected());
+        assertArrayEquals(new int[] {2}, outcome.servedPerCounter());
+    }
+
+    @Test
+    void breakLetsCurrentTokenFinishAndResumesAfterwards() {
+        SimulationOutcome outcome = simulator(1, 10).run(List.of(
+                new SimulatedArrival(0, 100),
+                new SimulatedArrival(10, 10)),
+                List.of(new SimulatedBreak(0, 50, 200)));
+
+        // The first token finishes at 100 during the break; the second is called at 200
+        assertEquals(List.of(0L, 190L), outcome.waitSeconds());
+        assertEquals(210, outcome.lastEventSecond());
+    }
+
+    @Test
+    void counterOnBreakTakesNoNewTokens() {
+        SimulationOutcome outcome = simulator(1, 10).run(
+                List.of(new SimulatedArrival(60, 10)),
+                List.of(new SimulatedBreak(0, 0, 120)));
+
+        assertEquals(1, outcome.rejected());
+        assertEquals(List.of(), outcome.waitSeconds());
+    }
+
+    // ─── HELPERS ──────────────────────────────────────────────────────────
+
+    private static QueueSimulator simulator(int counters, int dailyLimit) {
+        return new QueueSimulator(new RoundRobinCounterSelectionPolicy(), counters, dailyLimit);
+    }
+}